@@ -726,9 +726,30 @@ public class RUHungry {
      */
 
     public void seatAllGuests(Queue<Party> waitingQueue) {
+        seatAllGuests(waitingQueue, false);
+    }
 
-        // WRITE YOUR CODE HERE
-
+    /**
+     * Same as seatAllGuests(waitingQueue), but with combineTables a party larger than
+     * every table sits at the lowest index run of adjacent free tables that holds them,
+     * and occupies every table of that run.
+     *
+     * @param waitingQueue - queue containing parties waiting to be seated
+     * @param combineTables - true to let large parties sit at adjacent tables
+     */
+    public void seatAllGuests(Queue<Party> waitingQueue, boolean combineTables) {
+        // seat into new arrays and publish them only once every party is seated, so a party
+        // no table fits leaves tables and leftQueueVar as they were
+        Party[] seated = new Party[tableSeats.length];
+        Queue<Party> left = new Queue<Party>();
+        SeatingEngine seating = new SeatingEngine(tableSeats, seated, combineTables);
+
+        while (!waitingQueue.isEmpty()) {
+            seating.seat(waitingQueue.dequeue(), left::enqueue);
+        }
+        seating.emptyTables(left::enqueue);
+        tables = seated;
+        leftQueueVar = left;
     }
 
     /**
@@ -0,0 +1,189 @@
+package restaurant;
+
+import java.util.function.Consumer;
+
+/**
+ * Seats parties following the rules of RUHungry.seatAllGuests:
+ * a party sits at the lowest index free table that fits it, and when no free table fits,
+ * the party at the lowest index table that fits is removed to make room.
+ *
+ * Free and occupied tables are kept in two TableIndex trees holding each table's seats
+ * (0 when the table is in the other state), so both searches take O(log T) instead of
+ * scanning tableSeats from index 0.
+ *
+ * With combineTables on, a party larger than every single table sits at the lowest index
+ * run of adjacent free tables that holds it, found with a RunIndex over free capacity.
+ * When no free run holds it, the parties at tables 0, 1, ... are removed until enough
+ * adjacent seats are free. A seated party fills tables[t] for every table of its run.
+ */
+public class SeatingEngine {
+    private final int[] tableSeats;        // the number of seats at each table
+    private final Party[] tables;          // parties currently occupying the tables
+    private final TableIndex freeTables;   // seats of each free table, 0 if occupied
+    private final TableIndex occupiedTables; // seats of each occupied table, 0 if free
+    private final RunIndex freeRuns;       // runs of adjacent free tables, null unless combining
+    private final int[] runStart;          // first table of the run each occupied table belongs to
+    private final int[] runEnd;            // last table of the run each occupied table belongs to
+    private int largestTable;
+    private int totalSeats;
+
+    /*
+     * Constructor
+     * @param tableSeats the number of seats at each table
+     * @param tables array parallel to tableSeats that is filled with the seated parties
+     */
+    public SeatingEngine(int[] tableSeats, Party[] tables) {
+        this(tableSeats, tables, false);
+    }
+
+    /*
+     * Constructor
+     * @param tableSeats the number of seats at each table
+     * @param tables array parallel to tableSeats that is filled with the seated parties
+     * @param combineTables true to seat parties larger than every table at adjacent free tables
+     */
+    public SeatingEngine(int[] tableSeats, Party[] tables, boolean combineTables) {
+        this.tableSeats = tableSeats;
+        this.tables = tables;
+        freeTables = new TableIndex(tableSeats.length);
+        occupiedTables = new TableIndex(tableSeats.length);
+        freeRuns = combineTables ? new RunIndex(tableSeats.length) : null;
+        runStart = new int[tableSeats.length];
+        runEnd = new int[tableSeats.length];
+        for (int seats : tableSeats) {
+            largestTable = Math.max(largestTable, seats);
+            totalSeats += seats;
+        }
+        for (int t = 0; t < tableSeats.length; t++) {
+            if (tables[t] == null) {
+                markFree(t);
+                continue;
+            }
+            // in combining mode adjacent tables holding the same party are one run
+            int end = t;
+            if (combineTables) {
+                while (end + 1 < tables.length && tables[end + 1] == tables[t]) end++;
+            }
+            for (int s = t; s <= end; s++) {
+                runStart[s] = t;
+                runEnd[s] = end;
+                markOccupied(s);
+            }
+            t = end;
+        }
+    }
+
+    /**
+     * Seats one party. If no free table fits, the party sitting at the lowest index
+     * table that fits is removed and passed to leftParties.
+     *
+     * @param party the next party in line
+     * @param leftParties receives the party that had to leave, if any
+     * @return the index of the table the party now sits at
+     * @throws IllegalArgumentException if the party has fewer than one person, or no table
+     *         has enough seats for it
+     */
+    public int seat(Party party, Consumer<Party> leftParties) {
+        int size = sizeOf(party);
+        if (freeRuns != null && size > largestTable) {
+            return seatAtRun(party, leftParties);
+        }
+        int table = freeTables.firstAtLeast(size);
+        if (table < 0) {
+            table = occupiedTables.firstAtLeast(size);
+            if (table < 0) {
+                throw new IllegalArgumentException("No table has " + size + " seats for party " + party.getName()
+                    + " (largest table has " + largestTable + ")");
+            }
+            vacate(table, leftParties);
+        }
+        occupy(table, table, party);
+        return table;
+    }
+
+    /*
+     * Seats a party larger than every table at the lowest index run of adjacent free
+     * tables that holds it, removing parties from table 0 onwards when none does.
+     */
+    private int seatAtRun(Party party, Consumer<Party> leftParties) {
+        int size = party.getNumberOfPeople();
+        int start = freeRuns.firstRunOfAtLeast(size);
+        if (start < 0) {
+            if (totalSeats < size) {
+                throw new IllegalArgumentException("No run of tables has " + size + " seats for party "
+                    + party.getName() + " (all tables together have " + totalSeats + ")");
+            }
+            start = 0;
+            for (int t = 0, seats = 0; seats < size; seats += tableSeats[t++]) {
+                if (tables[t] != null) vacate(t, leftParties);
+            }
+        }
+        int end = start;
+        for (int seats = tableSeats[start]; seats < size; seats += tableSeats[++end]) { }
+        occupy(start, end, party);
+        return start;
+    }
+
+    /*
+     * An occupied table is kept as 0 seats in freeTables, so a size below 1 would match it
+     * and seat the party on top of the one already there.
+     */
+    private static int sizeOf(Party party) {
+        int size = party.getNumberOfPeople();
+        if (size < 1) {
+            throw new IllegalArgumentException("Party " + party.getName() + " has " + size
+                + " people; a party needs at least one");
+        }
+        return size;
+    }
+
+    /**
+     * Removes every seated party, in table index order, and passes them to leftParties.
+     */
+    public void emptyTables(Consumer<Party> leftParties) {
+        for (int t = 0; t < tables.length; t++) {
+            if (tables[t] != null) vacate(t, leftParties);
+        }
+    }
+
+    // seats the party at tables start..end
+    private void occupy(int start, int end, Party party) {
+        for (int t = start; t <= end; t++) {
+            tables[t] = party;
+            runStart[t] = start;
+            runEnd[t] = end;
+            markOccupied(t);
+        }
+        party.setTableIndex(start);
+    }
+
+    // removes the party sitting at table, and every other table of its run
+    private void vacate(int table, Consumer<Party> leftParties) {
+        Party party = tables[table];
+        leftParties.accept(party);
+        for (int t = runStart[table], end = runEnd[table]; t <= end; t++) {
+            tables[t] = null;
+            markFree(t);
+        }
+    }
+
+    private void markFree(int table) {
+        occupiedTables.set(table, 0);
+        freeTables.set(table, tableSeats[table]);
+        if (freeRuns != null) freeRuns.set(table, tableSeats[table]);
+    }
+
+    private void markOccupied(int table) {
+        freeTables.set(table, 0);
+        occupiedTables.set(table, tableSeats[table]);
+        if (freeRuns != null) freeRuns.set(table, 0);
+    }
+
+    public Party[] getTables() {
+        return tables;
+    }
+
+    public int[] getTableSeats() {
+        return tableSeats;
+    }
+}
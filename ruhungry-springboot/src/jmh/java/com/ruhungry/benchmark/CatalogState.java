@@ -0,0 +1,152 @@
+package com.ruhungry.benchmark;
+
+import com.ruhungry.core.MenuNode;
+import com.ruhungry.core.RUHungry;
+import com.ruhungry.core.StockNode;
+import com.ruhungry.tools.DataGenerator;
+import com.ruhungry.tools.GeneratorConfig;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * A loaded restaurant and the files it was loaded from, shared by the benchmarks.
+ *
+ * The catalog is either "sample", the bundled data/stock.in, data/menu.in and
+ * data/tables1.in, or a number of ingredients for DataGenerator to generate a catalog of. Lookups draw
+ * their keys from a fixed, seeded sample of the catalog so every run sees the same keys.
+ */
+@State(Scope.Benchmark)
+public class CatalogState {
+
+    private static final int KEYS = 4096;   // power of two, so the cursor wraps with a mask
+    private static final long SEED = 42;
+
+    @Param({"sample", "1000", "10000", "100000", "1000000"})
+    public String catalog;
+
+    // how generated ingredient IDs fall into stock chains; the sample ignores it
+    @Param({"SEQUENTIAL"})
+    public GeneratorConfig.IdPattern idPattern;
+
+    byte[] stockFile;
+    byte[] menuFile;
+    byte[] tablesFile;
+
+    RUHungry restaurant;
+    int[] ingredientIds;
+    String[] ingredientNames;
+    String[] dishNames;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void load() throws IOException {
+        if (catalog.equals("sample")) {
+            stockFile = resource("data/stock.in");
+            menuFile = resource("data/menu.in");
+            tablesFile = resource("data/tables1.in");
+        } else {
+            generate(Integer.parseInt(catalog));
+        }
+        restaurant = newRestaurant();
+
+        List<StockNode> stock = new ArrayList<>();
+        for (StockNode chain : restaurant.getStockVar()) {
+            for (StockNode ptr = chain; ptr != null; ptr = ptr.getNextStockNode()) stock.add(ptr);
+        }
+        List<String> dishes = new ArrayList<>();
+        for (MenuNode category : restaurant.getMenu()) {
+            for (MenuNode ptr = category; ptr != null; ptr = ptr.getNextMenuNode()) dishes.add(ptr.getDish().getName());
+        }
+
+        SplittableRandom random = new SplittableRandom(SEED);
+        ingredientIds = new int[KEYS];
+        ingredientNames = new String[KEYS];
+        dishNames = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            StockNode node = stock.get(random.nextInt(stock.size()));
+            ingredientIds[i] = node.getIngredient().getID();
+            ingredientNames[i] = node.getIngredient().getName();
+            dishNames[i] = dishes.get(random.nextInt(dishes.size()));
+        }
+    }
+
+    // a restaurant loaded from this catalog's files, with prices computed
+    RUHungry newRestaurant() {
+        RUHungry r = new RUHungry();
+        r.createStockHashTable(stockStream());
+        r.menu(menuStream());
+        r.createTables(tablesStream());
+        r.updatePriceAndProfit();
+        return r;
+    }
+
+    // gives every ingredient enough stock that orders in an iteration never run out
+    void topUpStock(RUHungry r, int level) {
+        for (StockNode chain : r.getStockVar()) {
+            for (StockNode ptr = chain; ptr != null; ptr = ptr.getNextStockNode()) {
+                ptr.getIngredient().setStockLevel(level);
+            }
+        }
+    }
+
+    // index of the next lookup key
+    int next() {
+        return cursor++ & (KEYS - 1);
+    }
+
+    InputStream stockStream() {
+        return new ByteArrayInputStream(stockFile);
+    }
+
+    InputStream menuStream() {
+        return new ByteArrayInputStream(menuFile);
+    }
+
+    InputStream tablesStream() {
+        return new ByteArrayInputStream(tablesFile);
+    }
+
+    private static byte[] resource(String path) throws IOException {
+        try (InputStream in = CatalogState.class.getClassLoader().getResourceAsStream(path)) {
+            if (in == null) throw new IOException("Missing resource " + path);
+            return in.readAllBytes();
+        }
+    }
+
+    // ingredients hashed ten to a chain like the sample, a dish per five ingredients and a
+    // table per ten dishes; CLUSTERED puts them all in a tenth of the chains
+    private void generate(int ingredients) throws IOException {
+        GeneratorConfig config = new GeneratorConfig();
+        config.setSeed(SEED);
+        config.setIngredients(ingredients);
+        config.setStockTableSize(Math.max(1, ingredients / 10));
+        config.setIdPattern(idPattern);
+        config.setCollisionChains(Math.max(1, config.getStockTableSize() / 10));
+        config.setCategories(8);
+        config.setDishes(Math.max(8, ingredients / 5));
+        config.setTables(Math.max(1, config.getDishes() / 10));
+        DataGenerator generator = new DataGenerator(config);
+
+        StringWriter stock = new StringWriter();
+        generator.writeStock(stock);
+        StringWriter menu = new StringWriter();
+        generator.writeMenu(menu);
+        StringWriter tables = new StringWriter();
+        generator.writeTables(tables);
+        stockFile = stock.toString().getBytes(StandardCharsets.UTF_8);
+        menuFile = menu.toString().getBytes(StandardCharsets.UTF_8);
+        tablesFile = tables.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,51 @@
+package com.ruhungry.benchmark;
+
+import com.ruhungry.core.RUHungry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The three file loaders, each into a fresh restaurant, and the price pass that follows
+ * loading. Files are parsed from memory, so disk speed does not enter the results.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoaderBenchmark {
+
+    @Benchmark
+    public RUHungry createStockHashTable(CatalogState state) {
+        RUHungry r = new RUHungry();
+        r.createStockHashTable(state.stockStream());
+        return r;
+    }
+
+    @Benchmark
+    public RUHungry menu(CatalogState state) {
+        RUHungry r = new RUHungry();
+        r.menu(state.menuStream());
+        return r;
+    }
+
+    @Benchmark
+    public RUHungry createTables(CatalogState state) {
+        RUHungry r = new RUHungry();
+        r.createTables(state.tablesStream());
+        return r;
+    }
+
+    @Benchmark
+    public RUHungry updatePriceAndProfit(CatalogState state) {
+        state.restaurant.updatePriceAndProfit();
+        return state.restaurant;
+    }
+}
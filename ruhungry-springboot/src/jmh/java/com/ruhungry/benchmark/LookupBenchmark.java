@@ -0,0 +1,50 @@
+package com.ruhungry.benchmark;
+
+import com.ruhungry.core.MenuNode;
+import com.ruhungry.core.StockNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-only operations on a loaded restaurant. None of them change it, so one
+ * restaurant serves the whole trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LookupBenchmark {
+
+    @Benchmark
+    public StockNode findStockNodeById(CatalogState state) {
+        return state.restaurant.findStockNode(state.ingredientIds[state.next()]);
+    }
+
+    @Benchmark
+    public StockNode findStockNodeByName(CatalogState state) {
+        return state.restaurant.findStockNode(state.ingredientNames[state.next()]);
+    }
+
+    @Benchmark
+    public MenuNode findDish(CatalogState state) {
+        return state.restaurant.findDish(state.dishNames[state.next()]);
+    }
+
+    @Benchmark
+    public boolean checkDishAvailability(CatalogState state) {
+        return state.restaurant.checkDishAvailability(state.dishNames[state.next()], 1);
+    }
+
+    @Benchmark
+    public double profit(CatalogState state) {
+        return state.restaurant.profit();
+    }
+}
@@ -0,0 +1,72 @@
+package com.ruhungry.benchmark;
+
+import com.ruhungry.core.RUHungry;
+import com.ruhungry.core.TransactionData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operations that record transactions. Stock is topped up before every iteration so
+ * orders take the served path, and the transaction list is cleared every
+ * {@value #TRANSACTIONS_KEPT} transactions so an iteration does not fill the heap.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OrderBenchmark {
+
+    private static final int TRANSACTIONS_KEPT = 1 << 16;
+    private static final int STOCK_LEVEL = 1_000_000_000;
+
+    private RUHungry restaurant;
+    private TransactionData data;
+    private int transactions;
+
+    @Setup(Level.Trial)
+    public void load(CatalogState state) {
+        restaurant = state.newRestaurant();
+        data = new TransactionData("order", state.dishNames[0], 1, 1.0, true);
+    }
+
+    @Setup(Level.Iteration)
+    public void topUp(CatalogState state) {
+        state.topUpStock(restaurant, STOCK_LEVEL);
+        restaurant.resetFrontNode();
+        transactions = 0;
+    }
+
+    @Benchmark
+    public TransactionData order(CatalogState state) {
+        TransactionData served = restaurant.order(state.dishNames[state.next()], 1);
+        clearEvery();
+        return served;
+    }
+
+    @Benchmark
+    public double addTransactionNode() {
+        restaurant.addTransactionNode(data);
+        clearEvery();
+        return restaurant.profit();
+    }
+
+    private void clearEvery() {
+        if (++transactions == TRANSACTIONS_KEPT) {
+            restaurant.resetFrontNode();
+            transactions = 0;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.ruhungry.controller;
+
+import com.ruhungry.dto.HashTableDiagnostics;
+import com.ruhungry.service.RestaurantService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin")
+@CrossOrigin(origins = "*")
+public class AdminController {
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    // Bucket count, load factor and chain lengths of the stock hashtable, and the menu list lengths
+    @GetMapping("/diagnostics/hashtable")
+    public ResponseEntity<HashTableDiagnostics> getHashTableDiagnostics() {
+        return ResponseEntity.ok(restaurantService.getHashTableDiagnostics());
+    }
+}
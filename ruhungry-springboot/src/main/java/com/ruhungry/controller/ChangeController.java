@@ -0,0 +1,21 @@
+package com.ruhungry.controller;
+
+import com.ruhungry.dto.ChangesResponse;
+import com.ruhungry.service.ChangeJournal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/changes")
+@CrossOrigin(origins = "*")
+public class ChangeController {
+
+    @Autowired
+    private ChangeJournal changeJournal;
+
+    @GetMapping
+    public ResponseEntity<ChangesResponse> getChanges(@RequestParam(defaultValue = "-1") long since) {
+        return ResponseEntity.ok(changeJournal.changesSince(since));
+    }
+}
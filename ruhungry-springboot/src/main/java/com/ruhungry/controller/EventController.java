@@ -0,0 +1,23 @@
+package com.ruhungry.controller;
+
+import com.ruhungry.service.LiveUpdateService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/events")
+@CrossOrigin(origins = "*")
+public class EventController {
+
+    @Autowired
+    private LiveUpdateService liveUpdateService;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestParam(defaultValue = "1000") long intervalMs) {
+        return liveUpdateService.subscribe(Duration.ofMillis(Math.min(intervalMs, 60_000)));
+    }
+}
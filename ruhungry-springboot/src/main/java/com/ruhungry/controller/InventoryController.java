@@ -1,6 +1,9 @@
 package com.ruhungry.controller;
 
 import com.ruhungry.dto.*;
+import com.ruhungry.service.IdempotencyCache;
+import com.ruhungry.service.IdempotencyKeyMismatchException;
+import com.ruhungry.service.InvalidIdempotencyKeyException;
 import com.ruhungry.service.RestaurantService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -16,11 +19,26 @@ public class InventoryController {
     @Autowired
     private RestaurantService restaurantService;
 
+    @Autowired
+    private IdempotencyCache idempotencyCache;
+
     @GetMapping
     public ResponseEntity<List<String>> getAllIngredients() {
         return ResponseEntity.ok(restaurantService.getAllIngredients());
     }
 
+    @GetMapping("/stock")
+    public ResponseEntity<List<StockResponse>> getAllStock(
+            @RequestParam(required = false) String filter,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "10") int lowThreshold) {
+        try {
+            return ResponseEntity.ok(restaurantService.getAllStock(filter, sort, lowThreshold));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/{ingredientName}")
     public ResponseEntity<StockResponse> getStock(@PathVariable String ingredientName) {
         StockResponse stock = restaurantService.getStock(ingredientName);
@@ -33,20 +51,54 @@ public class InventoryController {
     @PutMapping("/{ingredientName}")
     public ResponseEntity<Void> updateStock(
             @PathVariable String ingredientName,
-            @RequestParam int amount) {
-        restaurantService.updateStock(ingredientName, amount);
+            @RequestParam int amount,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        try {
+            idempotencyCache.execute("stock", idempotencyKey, ingredientName + '\n' + amount, () -> {
+                restaurantService.updateStock(ingredientName, amount);
+                return Boolean.TRUE;
+            });
+        } catch (IdempotencyKeyMismatchException e) {
+            return ResponseEntity.unprocessableEntity().build();
+        } catch (InvalidIdempotencyKeyException e) {
+            return ResponseEntity.badRequest().build();
+        }
         return ResponseEntity.ok().build();
     }
 
     @PostMapping("/restock")
-    public ResponseEntity<Void> restock(@RequestBody RestockRequest request) {
-        restaurantService.restockIngredient(request.getIngredientName(), request.getQuantity());
+    public ResponseEntity<Void> restock(
+            @RequestBody RestockRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        try {
+            idempotencyCache.execute("restock", idempotencyKey,
+                request.getIngredientName() + '\n' + request.getQuantity(), () -> {
+                    restaurantService.restockIngredient(request.getIngredientName(), request.getQuantity());
+                    return Boolean.TRUE;
+                });
+        } catch (IdempotencyKeyMismatchException e) {
+            return ResponseEntity.unprocessableEntity().build();
+        } catch (InvalidIdempotencyKeyException e) {
+            return ResponseEntity.badRequest().build();
+        }
         return ResponseEntity.ok().build();
     }
 
     @PostMapping("/donate")
-    public ResponseEntity<Void> donate(@RequestBody RestockRequest request) {
-        restaurantService.donateIngredient(request.getIngredientName(), request.getQuantity());
+    public ResponseEntity<Void> donate(
+            @RequestBody RestockRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        try {
+            idempotencyCache.execute("donate", idempotencyKey,
+                request.getIngredientName() + '\n' + request.getQuantity(), () -> {
+                    restaurantService.donateIngredient(request.getIngredientName(), request.getQuantity());
+                    return Boolean.TRUE;
+                });
+        } catch (IdempotencyKeyMismatchException e) {
+            return ResponseEntity.unprocessableEntity().build();
+        } catch (InvalidIdempotencyKeyException e) {
+            return ResponseEntity.badRequest().build();
+        }
         return ResponseEntity.ok().build();
     }
 
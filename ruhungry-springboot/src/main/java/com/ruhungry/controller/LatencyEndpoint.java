@@ -0,0 +1,27 @@
+package com.ruhungry.controller;
+
+import com.ruhungry.dto.LatencyReport;
+import com.ruhungry.service.LatencyRecorders;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * GET /actuator/latency: p50, p90, p99, p99.9 and max of every endpoint and engine operation
+ * since the previous call. Each call starts a new interval, so have one poller read it.
+ */
+@Component
+@Endpoint(id = "latency")
+public class LatencyEndpoint {
+
+    private final LatencyRecorders latencyRecorders;
+
+    public LatencyEndpoint(LatencyRecorders latencyRecorders) {
+        this.latencyRecorders = latencyRecorders;
+    }
+
+    @ReadOperation
+    public LatencyReport latency() {
+        return latencyRecorders.snapshot();
+    }
+}
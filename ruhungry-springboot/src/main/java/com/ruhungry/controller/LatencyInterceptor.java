@@ -0,0 +1,79 @@
+package com.ruhungry.controller;
+
+import com.ruhungry.service.LatencyRecorders;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.HdrHistogram.Recorder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the latency of every /api request into the recorder of its endpoint, named by
+ * method and mapping pattern, e.g. "GET /api/inventory/{ingredientName}". Requests are
+ * timed from the first preHandle to afterCompletion, so async requests include the time
+ * spent off the servlet thread. Streaming endpoints (server-sent events, NDJSON) stay
+ * open for as long as the client listens and are not recorded.
+ */
+@Component
+public class LatencyInterceptor implements HandlerInterceptor, WebMvcConfigurer {
+
+    private static final String STARTED = LatencyInterceptor.class.getName() + ".started";
+
+    @Autowired
+    private LatencyRecorders latencyRecorders;
+
+    // the recorder of each controller method, empty for streaming ones, so a request
+    // neither builds its endpoint's name nor inspects its return type
+    private final Map<Method, Optional<Recorder>> recorders = new ConcurrentHashMap<>();
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(this).addPathPatterns("/api/**");
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // an async request's dispatch back to the container calls preHandle again
+        if (request.getAttribute(STARTED) == null) {
+            request.setAttribute(STARTED, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object started = request.getAttribute(STARTED);
+        if (started == null || !(handler instanceof HandlerMethod method)) {
+            return;
+        }
+        long nanos = System.nanoTime() - (Long) started;
+        recorders.computeIfAbsent(method.getMethod(), m -> isStreaming(method)
+                ? Optional.empty() : Optional.of(latencyRecorders.endpoint(name(request))))
+            .ifPresent(recorder -> recorder.recordValue(nanos));
+    }
+
+    private static String name(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+
+    private static boolean isStreaming(HandlerMethod method) {
+        Class<?> type = method.getReturnType().getParameterType();
+        if (type == org.springframework.http.ResponseEntity.class) {
+            type = method.getReturnType().nested().getNestedParameterType();
+        }
+        return ResponseBodyEmitter.class.isAssignableFrom(type) || StreamingResponseBody.class.isAssignableFrom(type);
+    }
+}
@@ -1,13 +1,14 @@
 package com.ruhungry.controller;
 
-import com.ruhungry.dto.DishDTO;
 import com.ruhungry.dto.RecipeDTO;
 import com.ruhungry.service.RestaurantService;
+import com.ruhungry.service.RestaurantService.MenuSnapshot;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/menu")
@@ -17,9 +18,13 @@ public class MenuController {
     @Autowired
     private RestaurantService restaurantService;
 
-    @GetMapping
-    public ResponseEntity<List<DishDTO>> getAllDishes() {
-        return ResponseEntity.ok(restaurantService.getAllDishes());
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getAllDishes(WebRequest request) {
+        MenuSnapshot menu = restaurantService.getMenuSnapshot();
+        if (request.checkNotModified(menu.getETag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(menu.getETag()).build();
+        }
+        return ResponseEntity.ok().eTag(menu.getETag()).body(menu.getAllDishes());
     }
 
     @GetMapping("/categories")
@@ -27,9 +32,13 @@ public class MenuController {
         return ResponseEntity.ok(restaurantService.getCategories());
     }
 
-    @GetMapping("/category/{categoryName}")
-    public ResponseEntity<List<DishDTO>> getDishesByCategory(@PathVariable String categoryName) {
-        return ResponseEntity.ok(restaurantService.getDishesByCategory(categoryName));
+    @GetMapping(value = "/category/{categoryName}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getDishesByCategory(@PathVariable String categoryName, WebRequest request) {
+        MenuSnapshot menu = restaurantService.getMenuSnapshot();
+        if (request.checkNotModified(menu.getETag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(menu.getETag()).build();
+        }
+        return ResponseEntity.ok().eTag(menu.getETag()).body(menu.getDishesByCategory(categoryName));
     }
 
     @GetMapping("/recipe/{dishName}")
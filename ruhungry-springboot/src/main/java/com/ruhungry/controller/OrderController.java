@@ -1,6 +1,9 @@
 package com.ruhungry.controller;
 
 import com.ruhungry.dto.*;
+import com.ruhungry.service.IdempotencyCache;
+import com.ruhungry.service.IdempotencyKeyMismatchException;
+import com.ruhungry.service.InvalidIdempotencyKeyException;
 import com.ruhungry.service.RestaurantService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -14,13 +17,24 @@ public class OrderController {
     @Autowired
     private RestaurantService restaurantService;
 
+    @Autowired
+    private IdempotencyCache idempotencyCache;
+
     @PostMapping
-    public ResponseEntity<OrderResponse> placeOrder(@RequestBody OrderRequest request) {
-        OrderResponse response = restaurantService.placeOrder(
-            request.getDishName(),
-            request.getQuantity()
-        );
-        return ResponseEntity.ok(response);
+    public ResponseEntity<OrderResponse> placeOrder(
+            @RequestBody OrderRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        try {
+            OrderResponse response = idempotencyCache.execute(
+                "order", idempotencyKey, request.getDishName() + '\n' + request.getQuantity(),
+                () -> restaurantService.placeOrder(request.getDishName(), request.getQuantity())
+            );
+            return ResponseEntity.ok(response);
+        } catch (IdempotencyKeyMismatchException e) {
+            return ResponseEntity.unprocessableEntity().build();
+        } catch (InvalidIdempotencyKeyException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/profit")
@@ -0,0 +1,78 @@
+package com.ruhungry.controller;
+
+import com.ruhungry.dto.ReplayReport;
+import com.ruhungry.replay.ReplayFormat;
+import com.ruhungry.service.IdempotencyCache;
+import com.ruhungry.service.IdempotencyKeyMismatchException;
+import com.ruhungry.service.InvalidIdempotencyKeyException;
+import com.ruhungry.service.ReplayService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+
+@RestController
+@RequestMapping("/api/replay")
+@CrossOrigin(origins = "*")
+public class ReplayController {
+
+    @Autowired
+    private ReplayService replayService;
+
+    @Autowired
+    private IdempotencyCache idempotencyCache;
+
+    // Applies an uploaded .in file to the restaurant
+    @PostMapping(consumes = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<ReplayReport> replay(
+            @RequestParam String format,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            HttpServletRequest request) throws IOException {
+        ReplayFormat replayFormat;
+        try {
+            replayFormat = ReplayFormat.fromName(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        // the upload is hashed as it streams in, so a retry is matched without buffering it
+        MessageDigest digest = IdempotencyCache.sha256();
+        digest.update(replayFormat.name().getBytes(StandardCharsets.UTF_8));
+        DigestInputStream body = new DigestInputStream(request.getInputStream(), digest);
+        ReplayReport report;
+        try {
+            report = idempotencyCache.execute("replay", idempotencyKey, () -> fingerprint(body), () -> {
+                try {
+                    return replayService.replay(body, replayFormat);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IdempotencyKeyMismatchException e) {
+            return ResponseEntity.unprocessableEntity().build();
+        } catch (InvalidIdempotencyKeyException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (report.getError() != null) {
+            return ResponseEntity.badRequest().body(report);
+        }
+        return ResponseEntity.ok(report);
+    }
+
+    // reads whatever the replay left unread, so the digest covers the whole upload
+    private static byte[] fingerprint(DigestInputStream body) {
+        try {
+            body.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return body.getMessageDigest().digest();
+    }
+}
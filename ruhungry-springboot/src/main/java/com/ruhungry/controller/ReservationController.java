@@ -0,0 +1,82 @@
+package com.ruhungry.controller;
+
+import com.ruhungry.dto.ReservationDTO;
+import com.ruhungry.dto.ReservationRequest;
+import com.ruhungry.dto.TableDTO;
+import com.ruhungry.service.ReservationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/reservations")
+@CrossOrigin(origins = "*")
+public class ReservationController {
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @PostMapping
+    public ResponseEntity<ReservationDTO> book(@RequestBody ReservationRequest request) {
+        try {
+            ReservationDTO reservation = reservationService.book(request);
+            if (reservation == null) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            }
+            return ResponseEntity.status(HttpStatus.CREATED).body(reservation);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ReservationDTO>> getReservations(
+            @RequestParam(required = false) Integer table,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        try {
+            return ResponseEntity.ok(reservationService.getReservations(table, from, to));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // The table a reservation for [start, end) would get, without booking it
+    @GetMapping("/availability")
+    public ResponseEntity<TableDTO> findTable(
+            @RequestParam int numberOfPeople,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant end) {
+        try {
+            TableDTO table = reservationService.findTable(numberOfPeople, start, end);
+            if (table != null) {
+                return ResponseEntity.ok(table);
+            }
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ReservationDTO> getReservation(@PathVariable long id) {
+        ReservationDTO reservation = reservationService.getReservation(id);
+        if (reservation != null) {
+            return ResponseEntity.ok(reservation);
+        }
+        return ResponseEntity.notFound().build();
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> cancel(@PathVariable long id) {
+        if (reservationService.cancel(id)) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.notFound().build();
+    }
+}
@@ -0,0 +1,33 @@
+package com.ruhungry.controller;
+
+import com.ruhungry.dto.SandboxReport;
+import com.ruhungry.replay.ReplayFormat;
+import com.ruhungry.service.SandboxService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/sandbox")
+@CrossOrigin(origins = "*")
+public class SandboxController {
+
+    @Autowired
+    private SandboxService sandboxService;
+
+    // Replays a file on a fork of the restaurant and reports what would change
+    @PostMapping(value = "/replay", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<SandboxReport> replay(
+            @RequestParam String format,
+            HttpServletRequest request) throws IOException {
+        try {
+            return ResponseEntity.ok(sandboxService.replay(request.getInputStream(), ReplayFormat.fromName(format)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
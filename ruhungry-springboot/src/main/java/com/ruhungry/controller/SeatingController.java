@@ -0,0 +1,132 @@
+package com.ruhungry.controller;
+
+import com.ruhungry.core.Party;
+import com.ruhungry.core.Queue;
+import com.ruhungry.dto.PartyRequest;
+import com.ruhungry.dto.TableDTO;
+import com.ruhungry.dto.WaitlistStats;
+import com.ruhungry.service.RestaurantService;
+import com.ruhungry.service.SeatingService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/seating")
+@CrossOrigin(origins = "*")
+public class SeatingController {
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private SeatingService seatingService;
+
+    @GetMapping("/tables")
+    public ResponseEntity<List<TableDTO>> getTables() {
+        return ResponseEntity.ok(restaurantService.getTables());
+    }
+
+    @GetMapping(value = "/left", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getLeftQueue() {
+        Queue<Party> leftQueue = restaurantService.getLeftQueue();
+        return ndjson(out -> seatingService.writeLeftQueue(leftQueue, out));
+    }
+
+    // Seats the waitlist in the restaurant itself, then streams leftQueueVar
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> seatAllGuestsJson(
+            HttpServletRequest request,
+            @RequestParam(defaultValue = "false") boolean combineTables) {
+        return seatAllGuests(() -> seatingService.jsonParties(request.getInputStream()), combineTables);
+    }
+
+    @PostMapping(consumes = MediaType.TEXT_PLAIN_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> seatAllGuestsText(
+            HttpServletRequest request,
+            @RequestParam(defaultValue = "false") boolean combineTables) {
+        return seatAllGuests(() -> seatingService.textParties(request.getInputStream()), combineTables);
+    }
+
+    // Streams the seating of a waitlist without storing anything in the restaurant
+    @PostMapping(value = "/simulate", consumes = MediaType.APPLICATION_JSON_VALUE,
+                 produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> simulateJson(
+            HttpServletRequest request,
+            @RequestParam(defaultValue = "false") boolean combineTables) {
+        return simulate(() -> seatingService.jsonParties(request.getInputStream()), combineTables);
+    }
+
+    @PostMapping(value = "/simulate", consumes = MediaType.TEXT_PLAIN_VALUE,
+                 produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> simulateText(
+            HttpServletRequest request,
+            @RequestParam(defaultValue = "false") boolean combineTables) {
+        return simulate(() -> seatingService.textParties(request.getInputStream()), combineTables);
+    }
+
+    @PostMapping("/waitlist")
+    public ResponseEntity<WaitlistStats> checkIn(@RequestBody PartyRequest party) {
+        try {
+            seatingService.checkIn(party.getName(), party.getNumberOfPeople());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.accepted().body(seatingService.getWaitlistStats());
+    }
+
+    @GetMapping("/waitlist")
+    public ResponseEntity<WaitlistStats> getWaitlistStats() {
+        return ResponseEntity.ok(seatingService.getWaitlistStats());
+    }
+
+    // Seats everyone checked in so far, then streams leftQueueVar
+    @PostMapping(value = "/waitlist/seat", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> seatWaitlist(
+            @RequestParam(defaultValue = "false") boolean combineTables) {
+        try {
+            Queue<Party> leftQueue = seatingService.seatWaitlist(combineTables);
+            return ndjson(out -> seatingService.writeLeftQueue(leftQueue, out));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    private ResponseEntity<StreamingResponseBody> seatAllGuests(SourceOpener opener, boolean combineTables) {
+        try {
+            SeatingService.PartySource source = opener.open();
+            // parties are seated as they are parsed, so the waitlist is never held in full
+            Queue<Party> leftQueue = restaurantService.seatAllGuests(source.iterator(), combineTables);
+            return ndjson(out -> seatingService.writeLeftQueue(leftQueue, out));
+        } catch (IllegalArgumentException | IOException | UncheckedIOException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Opens the source before the 200 is sent, so a body that does not start as a waitlist is a 400
+    private ResponseEntity<StreamingResponseBody> simulate(SourceOpener opener, boolean combineTables) {
+        SeatingService.PartySource source;
+        try {
+            source = opener.open();
+        } catch (IllegalArgumentException | IOException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ndjson(out -> seatingService.simulate(source, out, combineTables));
+    }
+
+    // Reads the start of a waitlist body, e.g. the opening [ of a JSON array
+    private interface SourceOpener {
+        SeatingService.PartySource open() throws IOException;
+    }
+
+    private ResponseEntity<StreamingResponseBody> ndjson(StreamingResponseBody body) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+}
@@ -0,0 +1,40 @@
+package com.ruhungry.controller;
+
+import com.ruhungry.service.SimulationService;
+import com.ruhungry.simulation.MonteCarloReport;
+import com.ruhungry.simulation.SimulationConfig;
+import com.ruhungry.simulation.SimulationResult;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/simulation")
+@CrossOrigin(origins = "*")
+public class SimulationController {
+
+    @Autowired
+    private SimulationService simulationService;
+
+    // One simulated day on a copy of the current restaurant
+    @PostMapping("/day")
+    public ResponseEntity<SimulationResult> simulateDay(@RequestBody(required = false) SimulationConfig config) {
+        try {
+            return ResponseEntity.ok(simulationService.simulateDay(config != null ? config : new SimulationConfig()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Many simulated days with seeds drawn from config.seed, summarized as percentiles
+    @PostMapping("/monte-carlo")
+    public ResponseEntity<MonteCarloReport> monteCarlo(
+            @RequestParam(defaultValue = "1000") int runs,
+            @RequestBody(required = false) SimulationConfig config) {
+        try {
+            return ResponseEntity.ok(simulationService.monteCarlo(config != null ? config : new SimulationConfig(), runs));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.ruhungry.core;
+
+/**
+ * Receives the outcome and duration of each engine operation, for metrics. Callbacks run
+ * on the calling thread right after the operation, so implementations should only add to
+ * counters and return.
+ *
+ * Every operation is reported, but only one in RUHungry.TIMED_EVERY is timed, because
+ * reading the clock twice costs about as much as a small order. The others pass -1 as
+ * nanos. A restaurant without metrics does not read the clock at all.
+ *
+ * Set with RUHungry.setMetrics.
+ */
+public interface EngineMetrics {
+
+    /*
+     * Called after order().
+     * @param dishName the dish that was ordered
+     * @param served the transaction that was served, which may name another dish of the
+     *        same category, or null if nothing could be served
+     */
+    void orderCompleted(String dishName, TransactionData served, long nanos);
+
+    /*
+     * Called after donation().
+     * @param made whether the donation was made
+     */
+    void donationCompleted(boolean made, long nanos);
+
+    /*
+     * Called after restock().
+     * @param made whether the restock was paid for and added
+     */
+    void restockCompleted(boolean made, long nanos);
+
+    /*
+     * Called after a call to updateStock() from outside the engine; the changes order,
+     * donation and restock make are part of their own durations.
+     */
+    void stockUpdated(long nanos);
+
+    /*
+     * Called after a file was loaded or prices were recomputed. Always timed.
+     * @param what "stock", "menu", "tables" or "prices"
+     */
+    void loaded(String what, long nanos);
+}
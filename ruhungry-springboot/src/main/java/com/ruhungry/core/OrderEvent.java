@@ -0,0 +1,32 @@
+package com.ruhungry.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One call to RUHungry.order(), with its duration.
+ */
+@Name("com.ruhungry.Order")
+@Label("Order")
+@Category({"RUHungry", "Engine"})
+@Description("A dish was ordered; served as ordered, substituted, or not served")
+@StackTrace(false)
+final class OrderEvent extends jdk.jfr.Event {
+
+    @Label("Requested Dish")
+    String requestedDish;
+
+    @Label("Served Dish")
+    @Description("The dish served instead when it differs, null when nothing was served")
+    String servedDish;
+
+    @Label("Quantity")
+    int quantity;
+
+    @Label("Candidates Tried")
+    @Description("Dishes whose stock was checked, the ordered one included")
+    int candidatesTried;
+}
@@ -1,5 +1,6 @@
 package com.ruhungry.core;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
@@ -10,6 +11,11 @@ import java.util.NoSuchElementException;
  *  operations, along with methods for peeking at the first item,
  *  testing if the queue is empty, and iterating through
  *  the items in FIFO order.
+ *  <p>
+ *  This implementation uses a resizing circular array, so enqueueing does not
+ *  allocate a node per item. The array doubles when full and halves when it is
+ *  one-quarter full. <em>addAll</em> and <em>drainTo</em> move whole queues with
+ *  array copies.
  *
  *  @author Robert Sedgewick
  *  @author Kevin Wayne
@@ -17,22 +23,30 @@ import java.util.NoSuchElementException;
  *  @param <Item> the generic type of each item in this queue
  */
 public class Queue<Item> implements Iterable<Item> {
-    private Node<Item> first;    // beginning of queue
-    private Node<Item> last;     // end of queue
-    private int n;               // number of elements on queue
+    private static final int MIN_CAPACITY = 8;
+    private static final int MAX_CAPACITY = 1 << 30; // largest power of two an int array length can be
 
-    // helper linked list class
-    private static class Node<Item> {
-        private Item item;
-        private Node<Item> next;
-    }
+    private Item[] q;            // circular array of items, length is a power of two
+    private int first;           // index of the first item
+    private int n;               // number of elements on queue
 
     /**
      * Initializes an empty queue.
      */
     public Queue() {
-        first = null;
-        last  = null;
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Initializes an empty queue with room for {@code capacity} items before it grows.
+     *
+     * @param capacity the initial capacity
+     * @throws IllegalArgumentException if {@code capacity} is more than 2<sup>30</sup>
+     */
+    @SuppressWarnings("unchecked")
+    public Queue(int capacity) {
+        q = (Item[]) new Object[capacityFor(capacity)];
+        first = 0;
         n = 0;
     }
 
@@ -42,7 +56,7 @@ public class Queue<Item> implements Iterable<Item> {
      * @return {@code true} if this queue is empty; {@code false} otherwise
      */
     public boolean isEmpty() {
-        return first == null;
+        return n == 0;
     }
 
     /**
@@ -61,21 +75,19 @@ public class Queue<Item> implements Iterable<Item> {
      * @throws NoSuchElementException if this queue is empty
      */
     public Item peek() {
-        return first.item;
+        if (isEmpty()) throw new NoSuchElementException("Queue underflow");
+        return q[first];
     }
 
     /**
      * Adds the item to this queue.
      *
      * @param  item the item to add
+     * @throws IllegalArgumentException if this queue already holds 2<sup>30</sup> items
      */
     public void enqueue(Item item) {
-        Node<Item> oldlast = last;
-        last = new Node<Item>();
-        last.item = item;
-        last.next = null;
-        if (isEmpty()) first = last;
-        else           oldlast.next = last;
+        if (n == q.length) resize(capacityFor(n + 1L));
+        q[(first + n) & (q.length - 1)] = item;
         n++;
     }
 
@@ -87,13 +99,84 @@ public class Queue<Item> implements Iterable<Item> {
      */
     public Item dequeue() {
         if (isEmpty()) throw new NoSuchElementException("Queue underflow");
-        Item item = first.item;
-        first = first.next;
+        Item item = q[first];
+        q[first] = null;                           // to avoid loitering
+        first = (first + 1) & (q.length - 1);
         n--;
-        if (isEmpty()) last = null;   // to avoid loitering
+        if (n > 0 && n == q.length / 4 && q.length > MIN_CAPACITY) resize(q.length / 2);
         return item;
     }
 
+    /**
+     * Adds every item, in iteration order, to the end of this queue.
+     *
+     * @param  items the items to add
+     * @throws IllegalArgumentException if this queue would hold more than 2<sup>30</sup> items
+     */
+    public void addAll(Iterable<? extends Item> items) {
+        if (items instanceof Queue) {
+            Queue<?> other = (Queue<?>) items;
+            ensureCapacity((long) n + other.n);
+            other.copyTo(q, (first + n) & (q.length - 1));
+            n += other.n;
+        } else {
+            for (Item item : items) enqueue(item);
+        }
+    }
+
+    /**
+     * Removes every item from this queue and adds them, in FIFO order, to the end of
+     * {@code target}.
+     *
+     * @param  target the queue that receives the items
+     * @return the number of items moved
+     * @throws IllegalArgumentException if {@code target} is this queue
+     */
+    public int drainTo(Queue<? super Item> target) {
+        if (target == this) throw new IllegalArgumentException("Cannot drain a queue into itself");
+        int moved = n;
+        target.addAll(this);
+        Arrays.fill(q, null);
+        first = 0;
+        n = 0;
+        if (q.length > MIN_CAPACITY) resize(MIN_CAPACITY);
+        return moved;
+    }
+
+    // copies the items in FIFO order into a circular array of at least n free slots, starting at index start
+    private void copyTo(Object[] dest, int start) {
+        for (int copied = 0; copied < n; ) {
+            int from = (first + copied) & (q.length - 1);
+            int to = (start + copied) & (dest.length - 1);
+            int length = Math.min(n - copied, Math.min(q.length - from, dest.length - to));
+            System.arraycopy(q, from, dest, to, length);
+            copied += length;
+        }
+    }
+
+    private void ensureCapacity(long capacity) {
+        if (capacity > q.length) resize(capacityFor(capacity));
+    }
+
+    // resize the underlying array, moving the first item to index 0
+    @SuppressWarnings("unchecked")
+    private void resize(int capacity) {
+        Item[] copy = (Item[]) new Object[capacity];
+        copyTo(copy, 0);
+        q = copy;
+        first = 0;
+    }
+
+    // smallest power of two that holds capacity items
+    private static int capacityFor(long capacity) {
+        if (capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Queue capacity " + capacity + " is more than " + MAX_CAPACITY);
+        }
+        int size = MIN_CAPACITY;
+        while (size < capacity) size <<= 1;
+        return size;
+    }
+
     /**
      * Returns a string representation of this queue.
      *
@@ -114,25 +197,21 @@ public class Queue<Item> implements Iterable<Item> {
      * @return an iterator that iterates over the items in this queue in FIFO order
      */
     public Iterator<Item> iterator()  {
-        return new LinkedIterator(first);
+        return new ArrayIterator();
     }
 
-    // a linked-list iterator
-    private class LinkedIterator implements Iterator<Item> {
-        private Node<Item> current;
-
-        public LinkedIterator(Node<Item> first) {
-            current = first;
-        }
+    // an array iterator, from first to last
+    private class ArrayIterator implements Iterator<Item> {
+        private int i = 0;
 
         public boolean hasNext() {
-            return current != null;
+            return i < n;
         }
 
         public Item next() {
             if (!hasNext()) throw new NoSuchElementException();
-            Item item = current.item;
-            current = current.next;
+            Item item = q[(first + i) & (q.length - 1)];
+            i++;
             return item;
         }
     }
@@ -1,7 +1,18 @@
 package com.ruhungry.core;
 
 import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ObjIntConsumer;
 
 /**
  * RUHungry is a fictitious restaurant.
@@ -16,6 +27,12 @@ import java.util.Scanner;
 
 public class RUHungry {
 
+    // One in this many measured operations reads the clock (a power of two)
+    public static final int TIMED_EVERY = 16;
+
+    // Lookups by ID that visit more chain nodes than this emit a SlowLookup JFR event
+    public static final int DEFAULT_SLOW_LOOKUP_PROBES = 32;
+
     /*
      * Instance variables
      */
@@ -23,13 +40,35 @@ public class RUHungry {
     // Menu: two parallel arrays. The index in one corresponds to the same index in the other.
     private String[] categoryVar; // array where containing the name of menu categories (e.g. Appetizer, Dessert).
     private MenuNode[] menuVar; // array of lists of MenuNodes where each index is a category.
+    private final AtomicLong menuVersion = new AtomicLong(); // incremented whenever the menu or its prices change
+    private HashMap<String, MenuNode> dishIndex; // lowercase dish name -> the node findDish returns
 
     // Stock: hashtable using chaining to resolve collisions.
     private StockNode[] stockVar; // array of linked lists of StockNodes (use hashfunction to organize Nodes: id % stockVarSize)
     private int stockVarSize;
+    private HashMap<String, StockNode> stockNameIndex; // lowercase name -> the node findStockNode(String) returns
 
     // Transactions: orders, donations, restock transactions are recorded
     private TransactionNode transactionVar; // refers to the first front node in linked list
+    private TransactionNode transactionTail; // refers to the last node in linked list
+    private double totalProfit; // running sum of the profit of every transaction in the list
+
+    // Notified of every stock and transaction change. Replaced, never modified, under the
+    // monitor by addListener/removeListener; volatile so a change is read without the lock
+    private volatile RestaurantListener[] listeners;
+    private EngineMetrics metrics; // outcome and duration of each operation, null when not measured
+    private int operations;        // operations reported to metrics, picks the ones that are timed
+
+    // Lookup counters for metrics. LongAdders, so concurrent lookups neither lose counts nor
+    // contend on one shared word.
+    private final LongAdder stockIdLookups = new LongAdder();   // findStockNode(int), including the engine's own calls
+    private final LongAdder stockIdProbes = new LongAdder();    // chain nodes those lookups visited
+    private final LongAdder stockNameLookups = new LongAdder(); // findStockNode(String), including the engine's own calls
+    private final LongAdder dishLookups = new LongAdder();      // findDish
+
+    // Flight recorder: the threshold for SlowLookup events
+    private int slowLookupProbes;
+    private final AtomicLong version = new AtomicLong(); // incremented on every change to menu, stock or transactions
 
     // Queue keeps track of parties that left the restaurant
     private Queue<Party> leftQueueVar;
@@ -39,6 +78,39 @@ public class RUHungry {
     private Party[] tables; // Parties currently occupying the tables
     private int[] tableSeats; // The number of seats at each table
 
+    // Copy-on-write forks share the stock chains and menu of the restaurant they were made
+    // from. An ingredient is copied the first time the fork changes it, or the first time the
+    // restaurant that owns the chains changes it while the fork is alive, so a fork always
+    // reads the stock levels of the moment it was made.
+    private IdentityHashMap<StockNode, ForkedStock> forkedStock; // shared node -> this fork's copy, null unless a fork
+    private boolean sharesStockArray; // stockVar is shared with another restaurant
+    private boolean sharesMenu;       // menuVar and its dishes are shared with another restaurant
+    private RUHungry stockOwner;      // the restaurant that writes the shared chains, null unless a fork
+    private final Map<RUHungry, Boolean> forks = Collections.synchronizedMap(new WeakHashMap<>()); // live forks of this owner
+    private volatile boolean hasForks;
+
+    private static final class ForkedStock {
+        private final StockNode node;          // holds this fork's copy of the ingredient
+        private final int stockLevelWhenCopied;
+
+        private ForkedStock(StockNode node, int stockLevelWhenCopied) {
+            this.node = node;
+            this.stockLevelWhenCopied = stockLevelWhenCopied;
+        }
+    }
+
+    // What serve() did for one order: the transaction served (null if none) and how many
+    // dishes it checked, for the Order event
+    private static final class Served {
+        private final TransactionData transaction;
+        private final int candidatesTried;
+
+        private Served(TransactionData transaction, int candidatesTried) {
+            this.transaction = transaction;
+            this.candidatesTried = candidatesTried;
+        }
+    }
+
     /*
      * Default constructor
      */
@@ -48,11 +120,194 @@ public class RUHungry {
         stockVar = null;
         stockVarSize = 0;
         transactionVar = null;
+        transactionTail = null;
+        totalProfit = 0.0;
+        listeners = new RestaurantListener[0];
+        slowLookupProbes = DEFAULT_SLOW_LOOKUP_PROBES;
         leftQueueVar = null;
         tableSeats = null;
         tables = null;
     }
 
+    /**
+     * Returns an independent copy of this restaurant: stock, menu and tables are copied,
+     * so changing one never affects the other. The copy has no listeners, no seated
+     * parties and an empty transaction list, but starts from this restaurant's profit.
+     */
+    public RUHungry copy() {
+        RUHungry copy = new RUHungry();
+        if (categoryVar != null) {
+            copy.categoryVar = categoryVar.clone();
+            copy.menuVar = copyMenu(menuVar);
+            copy.indexDishes();
+        }
+        copy.menuVersion.set(menuVersion.get());
+        if (stockVar != null) {
+            copy.stockVarSize = stockVarSize;
+            copy.stockVar = new StockNode[stockVar.length];
+            copy.stockNameIndex = new HashMap<>();
+            for (int i = 0; i < stockVar.length; i++) {
+                StockNode last = null;
+                for (StockNode ptr = stockVar[i]; ptr != null; ptr = ptr.getNextStockNode()) {
+                    Ingredient ingredient = view(ptr).getIngredient();
+                    StockNode node = new StockNode(new Ingredient(ingredient.getID(), ingredient.getName(),
+                        ingredient.getStockLevel(), ingredient.getCost()), null);
+                    if (last == null) copy.stockVar[i] = node; else last.setNextStockNode(node);
+                    last = node;
+                    copy.stockNameIndex.putIfAbsent(key(ingredient.getName()), node);
+                }
+            }
+        }
+        copy.totalProfit = totalProfit;
+        copy.version.set(version.get());
+        copy.slowLookupProbes = slowLookupProbes;
+        if (tableSeats != null) {
+            copy.tableSeats = tableSeats.clone();
+            copy.tables = new Party[tableSeats.length];
+        }
+        return copy;
+    }
+
+    /**
+     * Returns a copy-on-write fork of this restaurant in O(1). The fork shares the stock
+     * chains, menu and table seats with this restaurant and sees them as they were when it
+     * was made: the first time either side changes an ingredient, the fork gets its own
+     * copy with the level the ingredient had until then, and this restaurant copies its menu
+     * or stock array before it changes them. Like copy(), the fork starts with this
+     * restaurant's profit, an empty transaction list and no listeners.
+     *
+     * Read a fork's stock through findStockNode, not getStockVar, which returns the
+     * shared chains. Call release() on a fork that is no longer used, so changes here stop
+     * copying ingredients into it.
+     */
+    public RUHungry fork() {
+        RUHungry fork = new RUHungry();
+        fork.categoryVar = categoryVar;
+        fork.menuVar = menuVar;
+        fork.dishIndex = dishIndex;
+        fork.sharesMenu = true;
+        fork.menuVersion.set(menuVersion.get());
+        fork.stockVar = stockVar;
+        fork.stockVarSize = stockVarSize;
+        fork.stockNameIndex = stockNameIndex;
+        fork.sharesStockArray = true;
+        fork.forkedStock = new IdentityHashMap<>();
+        if (forkedStock != null) {
+            // a fork of a fork starts from its parent's copies
+            synchronized (forkedStock) {
+                forkedStock.forEach((shared, forked) -> fork.forkedStock.put(shared,
+                    new ForkedStock(new StockNode(copyOf(forked.node.getIngredient()), null), forked.stockLevelWhenCopied)));
+            }
+        }
+        // from now on this restaurant copies what it shares before changing it
+        sharesMenu = true;
+        sharesStockArray = true;
+        fork.stockOwner = stockOwner != null ? stockOwner : this;
+        fork.stockOwner.forks.put(fork, Boolean.TRUE);
+        fork.stockOwner.hasForks = true;
+        fork.totalProfit = totalProfit;
+        fork.version.set(version.get());
+        fork.slowLookupProbes = slowLookupProbes;
+        fork.tableSeats = tableSeats;
+        fork.tables = tableSeats == null ? null : new Party[tableSeats.length];
+        return fork;
+    }
+
+    public boolean isFork() {
+        return forkedStock != null;
+    }
+
+    /**
+     * Stops the restaurant this fork was made from copying ingredients into it. The fork
+     * keeps working, but reads the shared stock as it is from then on. Does nothing if this
+     * is not a fork.
+     */
+    public void release() {
+        if (stockOwner != null) stockOwner.forks.remove(this);
+    }
+
+    /**
+     * Calls action with this fork's copy of every ingredient it holds, and the stock level
+     * the ingredient had when it was copied; an ingredient copied because this restaurant's
+     * owner changed it still has that level. Does nothing if this is not a fork.
+     */
+    public void forEachForkedIngredient(ObjIntConsumer<Ingredient> action) {
+        if (forkedStock == null) return;
+        synchronized (forkedStock) {
+            for (ForkedStock forked : forkedStock.values()) {
+                action.accept(forked.node.getIngredient(), forked.stockLevelWhenCopied);
+            }
+        }
+    }
+
+    // the node holding this restaurant's view of a node found in the stock chains
+    private StockNode view(StockNode node) {
+        if (forkedStock == null || node == null) return node;
+        synchronized (forkedStock) {
+            ForkedStock forked = forkedStock.get(node);
+            return forked == null ? node : forked.node;
+        }
+    }
+
+    // like view, but a fork copies the ingredient first so it can be changed, and the owner
+    // of the chains hands its live forks a copy of the level they have been reading
+    private StockNode writable(StockNode node) {
+        if (node == null) return null;
+        if (forkedStock == null) {
+            if (hasForks) copyIntoForks(node);
+            return node;
+        }
+        synchronized (forkedStock) {
+            return keep(node).node;
+        }
+    }
+
+    // this fork's copy of a shared node, made with the shared level if it has none yet
+    private ForkedStock keep(StockNode node) {
+        ForkedStock forked = forkedStock.get(node);
+        if (forked == null) {
+            Ingredient shared = node.getIngredient();
+            forked = new ForkedStock(new StockNode(copyOf(shared), null), shared.getStockLevel());
+            forkedStock.put(node, forked);
+        }
+        return forked;
+    }
+
+    private void copyIntoForks(StockNode node) {
+        synchronized (forks) {
+            if (forks.isEmpty()) {
+                hasForks = false;
+                return;
+            }
+            for (RUHungry fork : forks.keySet()) {
+                synchronized (fork.forkedStock) {
+                    fork.keep(node);
+                }
+            }
+        }
+    }
+
+    private static Ingredient copyOf(Ingredient ingredient) {
+        return new Ingredient(ingredient.getID(), ingredient.getName(), ingredient.getStockLevel(), ingredient.getCost());
+    }
+
+    private static MenuNode[] copyMenu(MenuNode[] menu) {
+        MenuNode[] copy = new MenuNode[menu.length];
+        for (int i = 0; i < menu.length; i++) {
+            MenuNode last = null;
+            for (MenuNode ptr = menu[i]; ptr != null; ptr = ptr.getNextMenuNode()) {
+                Dish dish = ptr.getDish();
+                Dish dishCopy = new Dish(dish.getCategory(), dish.getName(), dish.getStockID().clone());
+                dishCopy.setPriceOfDish(dish.getPriceOfDish());
+                dishCopy.setProfit(dish.getProfit());
+                MenuNode node = new MenuNode(dishCopy, null);
+                if (last == null) copy[i] = node; else last.setNextMenuNode(node);
+                last = node;
+            }
+        }
+        return copy;
+    }
+
     /*
      * Getter and Setter methods
      */
@@ -64,6 +319,14 @@ public class RUHungry {
         return categoryVar;
     }
 
+    public long getMenuVersion() {
+        return menuVersion.get();
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
     public StockNode[] getStockVar() {
         return stockVar;
     }
@@ -73,7 +336,14 @@ public class RUHungry {
     }
 
     public TransactionNode resetFrontNode() {
-        return transactionVar = null;
+        transactionTail = null;
+        totalProfit = 0.0;
+        transactionVar = null;
+        long changeVersion = version.incrementAndGet();
+        for (RestaurantListener listener : listeners) {
+            listener.transactionsCleared(changeVersion);
+        }
+        return transactionVar;
     }
 
     public Queue<Party> getLeftQueueVar() {
@@ -88,6 +358,61 @@ public class RUHungry {
         return tableSeats;
     }
 
+    /*
+     * Listener methods
+     */
+    public long getStockIdLookups() {
+        return stockIdLookups.sum();
+    }
+
+    public long getStockIdProbes() {
+        return stockIdProbes.sum();
+    }
+
+    public long getStockNameLookups() {
+        return stockNameLookups.sum();
+    }
+
+    public long getDishLookups() {
+        return dishLookups.sum();
+    }
+
+    /**
+     * Reports every operation's outcome and duration to metrics from now on; null stops it.
+     * Copies and forks are not measured.
+     */
+    public void setMetrics(EngineMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public int getSlowLookupProbes() {
+        return slowLookupProbes;
+    }
+
+    /**
+     * Lookups by ID that visit more than this many chain nodes emit a com.ruhungry.SlowLookup
+     * flight recorder event.
+     */
+    public void setSlowLookupProbes(int slowLookupProbes) {
+        if (slowLookupProbes < 1) throw new IllegalArgumentException("slowLookupProbes must be positive");
+        this.slowLookupProbes = slowLookupProbes;
+    }
+
+    public synchronized void addListener(RestaurantListener listener) {
+        RestaurantListener[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+        updated[listeners.length] = listener;
+        listeners = updated;
+    }
+
+    public synchronized void removeListener(RestaurantListener listener) {
+        RestaurantListener[] updated = new RestaurantListener[listeners.length];
+        int count = 0;
+        for (RestaurantListener l : listeners) {
+            if (l != listener) updated[count++] = l;
+        }
+        listeners = Arrays.copyOf(updated, count);
+    }
+
     /*
      * Menu methods
      */
@@ -99,10 +424,12 @@ public class RUHungry {
      * @param inputStream - InputStream containing menu data
      */
     public void menu(InputStream inputStream) {
+        long started = metrics == null ? 0 : System.nanoTime();
         Scanner scanner = new Scanner(inputStream);
         int length = scanner.nextInt();
         categoryVar = new String[length];
         menuVar = new MenuNode[length];
+        sharesMenu = false;
         scanner.nextLine();
         for (int i = 0; i < length; i++) {
             String names = scanner.nextLine();
@@ -124,6 +451,27 @@ public class RUHungry {
             }
         }
         scanner.close();
+        indexDishes();
+        menuVersion.incrementAndGet();
+        long changeVersion = version.incrementAndGet();
+        for (RestaurantListener listener : listeners) {
+            listener.menuChanged(changeVersion);
+        }
+        if (metrics != null) metrics.loaded("menu", System.nanoTime() - started);
+    }
+
+    // the first dish of each name in category order, the one a scan of menuVar would find
+    private void indexDishes() {
+        dishIndex = new HashMap<>();
+        for (MenuNode category : menuVar) {
+            for (MenuNode ptr = category; ptr != null; ptr = ptr.getNextMenuNode()) {
+                dishIndex.putIfAbsent(key(ptr.getDish().getName()), ptr);
+            }
+        }
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
     }
 
     private void insert(MenuNode x, int i) {
@@ -137,22 +485,14 @@ public class RUHungry {
 
     /**
      * Find and return the MenuNode that contains the dish with dishName in the menuVar.
+     * Looked up in an index by lowercase name that menu() builds, instead of scanning menuVar.
      */
     public MenuNode findDish(String dishName) {
-        MenuNode menuNode = null;
-
-        for (int category = 0; category < menuVar.length; category++) {
-            MenuNode ptr = menuVar[category];
-
-            while (ptr != null) {
-                if (ptr.getDish().getName().equalsIgnoreCase(dishName)) {
-                    return ptr;
-                } else {
-                    ptr = ptr.getNextMenuNode();
-                }
-            }
+        dishLookups.increment();
+        if (dishName == null || dishIndex == null) {
+            return null;
         }
-        return menuNode;
+        return dishIndex.get(key(dishName));
     }
 
     /**
@@ -178,9 +518,21 @@ public class RUHungry {
      * This method adds a StockNode into the stockVar hashtable.
      */
     public void addStockNode(StockNode newNode) {
+        if (sharesStockArray) {
+            stockVar = stockVar.clone();
+            stockNameIndex = new HashMap<>(stockNameIndex);
+            sharesStockArray = false;
+        }
         int x = newNode.getIngredient().getID();
         int index = x % stockVarSize;
         insertF(newNode, index);
+
+        // A scan finds the first match in bucket order, and a new node is first in its bucket
+        String name = key(newNode.getIngredient().getName());
+        StockNode indexed = stockNameIndex.get(name);
+        if (indexed == null || index <= indexed.getIngredient().getID() % stockVarSize) {
+            stockNameIndex.put(name, newNode);
+        }
     }
 
     private void insertF(StockNode x, int i) {
@@ -194,59 +546,104 @@ public class RUHungry {
 
     /**
      * This method finds an ingredient from StockVar (given the ingredientID)
+     * Only the chain the ID hashes to (id % stockVarSize) is searched.
      */
     public StockNode findStockNode(int ingredientID) {
-        StockNode stockNode = null;
-
-        for (int Ingindex = 0; Ingindex < stockVar.length; Ingindex++) {
-            StockNode ptr = stockVar[Ingindex];
+        return view(findSharedStockNode(ingredientID));
+    }
 
-            while (ptr != null) {
-                if (ptr.getIngredient().getID() == ingredientID) {
-                    return ptr;
-                } else {
-                    ptr = ptr.getNextStockNode();
-                }
+    // the node in the stock chains, before a fork's copy is looked up
+    private StockNode findSharedStockNode(int ingredientID) {
+        stockIdLookups.increment();
+        int index = ingredientID % stockVarSize;
+        if (index < 0) {
+            return null;
+        }
+        StockNode ptr = stockVar[index];
+        int probes = 0;
+        while (ptr != null) {
+            probes++;
+            if (ptr.getIngredient().getID() == ingredientID) {
+                break;
+            }
+            ptr = ptr.getNextStockNode();
+        }
+        stockIdProbes.add(probes);
+        if (probes > slowLookupProbes) {
+            SlowLookupEvent event = new SlowLookupEvent();
+            if (event.shouldCommit()) {
+                event.ingredientId = ingredientID;
+                event.bucket = index;
+                event.probes = probes;
+                event.found = ptr != null;
+                event.commit();
             }
         }
-        return stockNode;
+        return ptr;
     }
 
     /**
      * This method is to find an ingredient from StockVar (given the ingredient name).
+     * Looked up in an index by lowercase name that addStockNode keeps up to date.
      */
     public StockNode findStockNode(String ingredientName) {
-        StockNode stockNode = null;
-
-        for (int index = 0; index < stockVar.length; index++) {
-            StockNode ptr = stockVar[index];
+        return view(findSharedStockNode(ingredientName));
+    }
 
-            while (ptr != null) {
-                if (ptr.getIngredient().getName().equalsIgnoreCase(ingredientName)) {
-                    return ptr;
-                } else {
-                    ptr = ptr.getNextStockNode();
-                }
-            }
+    private StockNode findSharedStockNode(String ingredientName) {
+        stockNameLookups.increment();
+        if (ingredientName == null || stockNameIndex == null) {
+            return null;
         }
-        return stockNode;
+        return stockNameIndex.get(key(ingredientName));
     }
 
     /**
      * This method updates the stock amount of an ingredient.
      */
     public void updateStock(String ingredientName, int ingredientID, int stockAmountToAdd) {
+        long started = startTiming();
+        changeStock(ingredientName, ingredientID, stockAmountToAdd);
+        if (metrics != null) metrics.stockUpdated(elapsedSince(started));
+    }
+
+    // the clock for one in TIMED_EVERY measured operations, -1 for the rest and when not measured
+    private long startTiming() {
+        if (metrics == null || (++operations & (TIMED_EVERY - 1)) != 0) {
+            return -1;
+        }
+        return System.nanoTime();
+    }
+
+    private static long elapsedSince(long started) {
+        return started < 0 ? -1 : System.nanoTime() - started;
+    }
+
+    private void changeStock(String ingredientName, int ingredientID, int stockAmountToAdd) {
         StockNode nodeToUpdate = null;
 
         if (ingredientName != null) {
-            nodeToUpdate = findStockNode(ingredientName);
+            nodeToUpdate = writable(findSharedStockNode(ingredientName));
         } else if (ingredientID != -1) {
-            nodeToUpdate = findStockNode(ingredientID);
+            nodeToUpdate = writable(findSharedStockNode(ingredientID));
         }
 
         if (nodeToUpdate != null) {
-            int currentStockLevel = nodeToUpdate.getIngredient().getStockLevel();
-            nodeToUpdate.getIngredient().setStockLevel(currentStockLevel + stockAmountToAdd);
+            Ingredient ingredient = nodeToUpdate.getIngredient();
+            int currentStockLevel = ingredient.getStockLevel();
+            ingredient.setStockLevel(currentStockLevel + stockAmountToAdd);
+            long changeVersion = version.incrementAndGet();
+            for (RestaurantListener listener : listeners) {
+                listener.stockChanged(ingredient, stockAmountToAdd, changeVersion);
+            }
+            StockChangeEvent event = new StockChangeEvent();
+            if (event.shouldCommit()) {
+                event.ingredientId = ingredient.getID();
+                event.ingredient = ingredient.getName();
+                event.delta = stockAmountToAdd;
+                event.stockLevel = ingredient.getStockLevel();
+                event.commit();
+            }
         }
     }
 
@@ -254,6 +651,12 @@ public class RUHungry {
      * This method goes over menuVar to update the price and profit of each dish.
      */
     public void updatePriceAndProfit() {
+        long started = metrics == null ? 0 : System.nanoTime();
+        if (sharesMenu) {
+            menuVar = copyMenu(menuVar);
+            indexDishes();
+            sharesMenu = false;
+        }
         for (int i = 0; i < menuVar.length; i++) {
             MenuNode ptr = menuVar[i];
             while (ptr != null) {
@@ -273,6 +676,12 @@ public class RUHungry {
                 ptr = ptr.getNextMenuNode();
             }
         }
+        menuVersion.incrementAndGet();
+        long changeVersion = version.incrementAndGet();
+        for (RestaurantListener listener : listeners) {
+            listener.menuChanged(changeVersion);
+        }
+        if (metrics != null) metrics.loaded("prices", System.nanoTime() - started);
     }
 
     /**
@@ -282,10 +691,14 @@ public class RUHungry {
      * @param inputStream - InputStream containing stock data
      */
     public void createStockHashTable(InputStream inputStream) {
+        long started = metrics == null ? 0 : System.nanoTime();
         Scanner scanner = new Scanner(inputStream);
         int x = scanner.nextInt();
         stockVarSize = x;
         stockVar = new StockNode[stockVarSize];
+        stockNameIndex = new HashMap<>();
+        sharesStockArray = false;
+        if (forkedStock != null) forkedStock.clear();
         while (scanner.hasNextLine()) {
             if (!scanner.hasNextInt()) break;
             int stockId = scanner.nextInt();
@@ -309,6 +722,11 @@ public class RUHungry {
             addStockNode(node);
         }
         scanner.close();
+        long changeVersion = version.incrementAndGet();
+        for (RestaurantListener listener : listeners) {
+            listener.stockReloaded(changeVersion);
+        }
+        if (metrics != null) metrics.loaded("stock", System.nanoTime() - started);
     }
 
     /*
@@ -317,17 +735,20 @@ public class RUHungry {
 
     /**
      * This method adds a TransactionNode to the END of the transactions linked list.
+     * The tail is remembered so adding does not walk the list.
      */
     public void addTransactionNode(TransactionData data) {
         TransactionNode node = new TransactionNode(data, null);
         if (transactionVar == null) {
             transactionVar = node;
         } else {
-            TransactionNode ptr = transactionVar;
-            while (ptr.getNext() != null) {
-                ptr = ptr.getNext();
-            }
-            ptr.setNext(node);
+            transactionTail.setNext(node);
+        }
+        transactionTail = node;
+        totalProfit += data.getProfit();
+        long changeVersion = version.incrementAndGet();
+        for (RestaurantListener listener : listeners) {
+            listener.transactionAdded(data, changeVersion);
         }
     }
 
@@ -351,32 +772,55 @@ public class RUHungry {
 
     /**
      * This method simulates a customer ordering a dish.
+     *
+     * @return the successful transaction (the dish ordered or the one served instead),
+     *         or null if neither the dish nor any dish of its category was available
      */
-    public void order(String dishName, int quantity) {
+    public TransactionData order(String dishName, int quantity) {
+        OrderEvent event = new OrderEvent();
+        event.begin();
+        long started = startTiming();
+        Served result = serve(dishName, quantity);
+        TransactionData served = result.transaction;
+        if (metrics != null) metrics.orderCompleted(dishName, served, elapsedSince(started));
+        event.end();
+        if (event.shouldCommit()) {
+            event.requestedDish = dishName;
+            event.servedDish = served == null ? null : served.getItem();
+            event.quantity = quantity;
+            event.candidatesTried = result.candidatesTried;
+            event.commit();
+        }
+        return served;
+    }
+
+    private Served serve(String dishName, int quantity) {
+        int candidatesTried = 1;
         MenuNode original = findDish(dishName);
         TransactionData node = new TransactionData("order", dishName, quantity, original.getDish().getProfit() * quantity, true);
         int[] ids = original.getDish().getStockID();
         if (checkDishAvailability(dishName, quantity) == true) {
             addTransactionNode(node);
             for (int i = 0; i < ids.length; i++) {
-                updateStock(null, ids[i], -quantity);
+                changeStock(null, ids[i], -quantity);
             }
-            return;
+            return new Served(node, candidatesTried);
         }
         if (checkDishAvailability(dishName, quantity) == false) {
             MenuNode dishes = findDish(dishName);
             String cats = dishes.getDish().getCategory();
             MenuNode ptr = dishes;
             while (ptr != null) {
+                if (ptr != original) candidatesTried++;
                 int[] ids2 = ptr.getDish().getStockID();
                 String currName = ptr.getDish().getName();
                 if (checkDishAvailability(currName, quantity) == true) {
                     TransactionData node2 = new TransactionData("order", ptr.getDish().getName(), quantity, ptr.getDish().getProfit() * quantity, true);
                     addTransactionNode(node2);
                     for (int i = 0; i < ids2.length; i++) {
-                        updateStock(null, ids2[i], -quantity);
+                        changeStock(null, ids2[i], -quantity);
                     }
-                    return;
+                    return new Served(node2, candidatesTried);
                 } else if (checkDishAvailability(currName, quantity) == false) {
                     TransactionData node22 = new TransactionData("order", ptr.getDish().getName(), quantity, 0, false);
                     addTransactionNode(node22);
@@ -386,14 +830,15 @@ public class RUHungry {
             int index = findCategoryIndex(cats);
             MenuNode dishes3 = menuVar[index];
             while (dishes3 != original && dishes3 != null) {
+                candidatesTried++;
                 int[] ids3 = dishes3.getDish().getStockID();
                 if (checkDishAvailability(dishes3.getDish().getName(), quantity) == true) {
                     TransactionData node3 = new TransactionData("order", dishes3.getDish().getName(), quantity, dishes3.getDish().getProfit() * quantity, true);
                     addTransactionNode(node3);
                     for (int i = 0; i < ids3.length; i++) {
-                        updateStock(null, ids3[i], -quantity);
+                        changeStock(null, ids3[i], -quantity);
                     }
-                    return;
+                    return new Served(node3, candidatesTried);
                 } else if (checkDishAvailability(dishes3.getDish().getName(), quantity) == false) {
                     TransactionData node4 = new TransactionData("order", dishes3.getDish().getName(), quantity, 0, false);
                     addTransactionNode(node4);
@@ -401,51 +846,67 @@ public class RUHungry {
                 dishes3 = dishes3.getNextMenuNode();
             }
         }
+        return new Served(null, candidatesTried);
     }
 
     /**
-     * This method returns the total profit for the day
+     * This method returns the total profit for the day.
+     * The sum is kept up to date by addTransactionNode, in the same order as walking the list.
      */
     public double profit() {
-        double profit = 0.0;
-        TransactionNode ptr = transactionVar;
-        while (ptr != null) {
-            profit += ptr.getData().getProfit();
-            ptr = ptr.getNext();
-        }
-        return profit;
+        return totalProfit;
     }
 
     /**
      * This method simulates donation requests, successful or not.
+     *
+     * @return true if the donation was made
      */
-    public void donation(String ingredientName, int quantity) {
+    public boolean donation(String ingredientName, int quantity) {
+        long started = startTiming();
+        boolean made = donate(ingredientName, quantity);
+        if (metrics != null) metrics.donationCompleted(made, elapsedSince(started));
+        return made;
+    }
+
+    private boolean donate(String ingredientName, int quantity) {
         StockNode original = findStockNode(ingredientName);
         TransactionData node1 = new TransactionData("donation", ingredientName, quantity, 0, false);
         TransactionData node = new TransactionData("donation", ingredientName, quantity, 0, true);
         if (profit() > 50.0 && original.getIngredient().getStockLevel() >= quantity) {
             addTransactionNode(node);
-            updateStock(ingredientName, -1, -quantity);
-            return;
+            changeStock(ingredientName, -1, -quantity);
+            return true;
         } else {
             addTransactionNode(node1);
+            return false;
         }
     }
 
     /**
      * This method simulates restock orders
+     *
+     * @return true if the profit so far paid for the restock
      */
-    public void restock(String ingredientName, int quantity) {
+    public boolean restock(String ingredientName, int quantity) {
+        long started = startTiming();
+        boolean made = buy(ingredientName, quantity);
+        if (metrics != null) metrics.restockCompleted(made, elapsedSince(started));
+        return made;
+    }
+
+    private boolean buy(String ingredientName, int quantity) {
         StockNode o = findStockNode(ingredientName);
         double cost = o.getIngredient().getCost() * quantity;
         TransactionData node = new TransactionData("restock", ingredientName, quantity, 0, false);
         TransactionData node2 = new TransactionData("restock", ingredientName, quantity, -cost, true);
         if (profit() > cost) {
             addTransactionNode(node2);
-            updateStock(ingredientName, -1, quantity);
-            return;
+            changeStock(ingredientName, -1, quantity);
+            return true;
         } else {
             addTransactionNode(node);
+            return false;
         }
     }
 
@@ -458,6 +919,7 @@ public class RUHungry {
      * Modified to use InputStream for Spring Boot compatibility.
      */
     public void createTables(InputStream inputStream) {
+        long started = metrics == null ? 0 : System.nanoTime();
         Scanner scanner = new Scanner(inputStream);
         int numberOfTables = scanner.nextInt();
         tableSeats = new int[numberOfTables];
@@ -467,12 +929,82 @@ public class RUHungry {
             tableSeats[t] = scanner.nextInt() * scanner.nextInt();
         }
         scanner.close();
+        if (metrics != null) metrics.loaded("tables", System.nanoTime() - started);
     }
 
     /**
      * This method simulates seating guests at tables.
+     *
+     * While parties are waiting, the next party sits at the lowest index free table that
+     * fits them. If there is none, the party at the lowest index table that fits them
+     * leaves (added to leftQueueVar) and the next party takes their table. Once the
+     * waitingQueue is empty, every seated party leaves in table index order.
+     *
+     * @param waitingQueue - queue containing parties waiting to be seated
      */
     public void seatAllGuests(Queue<Party> waitingQueue) {
-        // WRITE YOUR CODE HERE
+        seatAllGuests(waitingQueue, false);
+    }
+
+    /**
+     * Same as seatAllGuests(waitingQueue), but with combineTables a party larger than
+     * every table sits at the lowest index run of adjacent free tables that holds them,
+     * and occupies every table of that run.
+     *
+     * @param waitingQueue - queue containing parties waiting to be seated
+     * @param combineTables - true to let large parties sit at adjacent tables
+     */
+    public void seatAllGuests(Queue<Party> waitingQueue, boolean combineTables) {
+        seatAllGuests(waitingQueue, combineTables, new int[0], new Queue<Party>());
+    }
+
+    /**
+     * Same as seatAllGuests(waitingQueue, combineTables), but the tables in heldTables are
+     * kept for reservations: every party in reservedParties first sits at the held table
+     * given by its tableIndex, and no party of the waiting queue sits at a held table.
+     *
+     * @param waitingQueue - queue containing parties waiting to be seated
+     * @param combineTables - true to let large parties sit at adjacent tables
+     * @param heldTables - indexes of the tables kept for reservations
+     * @param reservedParties - parties with a reservation, seated at their tables; not emptied
+     */
+    public void seatAllGuests(Queue<Party> waitingQueue, boolean combineTables, int[] heldTables,
+                              Queue<Party> reservedParties) {
+        seatAllGuests(new Iterator<Party>() {
+            public boolean hasNext() { return !waitingQueue.isEmpty(); }
+            public Party next() { return waitingQueue.dequeue(); }
+        }, combineTables, heldTables, reservedParties);
+    }
+
+    /**
+     * Same as seatAllGuests(waitingQueue, combineTables, heldTables, reservedParties), but
+     * takes the waiting parties from an iterator, so a waitlist can be seated while it is
+     * still being read instead of being queued up first.
+     *
+     * @param waiting - parties waiting to be seated, in line order
+     * @param combineTables - true to let large parties sit at adjacent tables
+     * @param heldTables - indexes of the tables kept for reservations
+     * @param reservedParties - parties with a reservation, seated at their tables; not emptied
+     */
+    public void seatAllGuests(Iterator<Party> waiting, boolean combineTables, int[] heldTables,
+                              Queue<Party> reservedParties) {
+        // seat into new arrays and publish them only once every party is seated, so a party
+        // no table fits leaves tables and leftQueueVar as they were
+        Party[] seated = new Party[tableSeats.length];
+        Queue<Party> left = new Queue<Party>();
+        SeatingEngine seating = new SeatingEngine(tableSeats, seated, combineTables);
+
+        for (int table : heldTables) {
+            seating.hold(table);
+        }
+        for (Party party : reservedParties) {
+            seating.seatAt(party.getTableIndex(), party);
+        }
+        while (waiting.hasNext()) {
+            seating.seat(waiting.next(), left::enqueue);
+        }
+        seating.emptyTables(left::enqueue);
+        tables = seated;
+        leftQueueVar = left;
     }
 }
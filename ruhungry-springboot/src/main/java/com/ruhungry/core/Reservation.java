@@ -0,0 +1,46 @@
+package com.ruhungry.core;
+
+/**
+ * This file contains a booking of one table for the time interval [start, end).
+ * Times are epoch milliseconds.
+ */
+public class Reservation {
+
+    private final long   id;             // Unique ID given by the ReservationBook
+    private final String name;           // The last name of the party
+    private final int    numberOfPeople; // The number of people in the party
+    private final int    table;          // Index in the RUHungry.tables array
+    private final long   start;          // First millisecond the table is booked
+    private final long   end;            // First millisecond the table is free again
+
+    /*
+     * Constructor
+     * @param id the reservation ID
+     * @param name the last name of the party
+     * @param numberOfPeople the number of people in the party
+     * @param table the index of the booked table
+     * @param start the start of the booking, inclusive
+     * @param end the end of the booking, exclusive
+     */
+    public Reservation(long id, String name, int numberOfPeople, int table, long start, long end) {
+        this.id = id;
+        this.name = name;
+        this.numberOfPeople = numberOfPeople;
+        this.table = table;
+        this.start = start;
+        this.end = end;
+    }
+
+    // Getter methods
+    public long getId() { return id; }
+
+    public String getName() { return name; }
+
+    public int getNumberOfPeople() { return numberOfPeople; }
+
+    public int getTable() { return table; }
+
+    public long getStart() { return start; }
+
+    public long getEnd() { return end; }
+}
@@ -0,0 +1,191 @@
+package com.ruhungry.core;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * A reservation calendar for the tables of a restaurant.
+ *
+ * Each table keeps its bookings in a TreeMap keyed by start time. Bookings of one table
+ * never overlap, so they are sorted by end time as well, and the only booking that can
+ * conflict with [start, end) is the one with the greatest start before end. Conflict
+ * checks are therefore a single O(log n) lookup.
+ *
+ * findTable walks only the tables with enough seats, lowest index first, using a
+ * TableIndex over tableSeats, and checks each with the O(log n) lookup, so a query costs
+ * O((k + 1) log n) for k tables that fit but are booked. Whether some table of a group is
+ * free for an arbitrary [start, end) does not follow from per-group aggregates of the
+ * bookings, so the walk stops at the first free table rather than pruning booked groups.
+ * Bookings that have not started yet are also kept in start order so pollDue hands them
+ * to the seating engine as they become due.
+ *
+ * Not thread safe; callers synchronize.
+ */
+public class ReservationBook {
+
+    private static final Comparator<Reservation> BY_START =
+        Comparator.comparingLong(Reservation::getStart).thenComparingLong(Reservation::getId);
+
+    private final int[] tableSeats;                      // the number of seats at each table
+    private final TableIndex seats;                      // tableSeats as a tree for "first table with n seats"
+    private final List<TreeMap<Long, Reservation>> calendars; // bookings of each table by start time
+    private final Map<Long, Reservation> byId = new HashMap<>();
+    private final TreeSet<Reservation> notStarted = new TreeSet<>(BY_START);
+    private long nextId = 1;
+
+    /*
+     * Constructor
+     * @param tableSeats the number of seats at each table
+     */
+    public ReservationBook(int[] tableSeats) {
+        this.tableSeats = tableSeats.clone();
+        seats = new TableIndex(tableSeats.length);
+        calendars = new ArrayList<>(tableSeats.length);
+        for (int t = 0; t < tableSeats.length; t++) {
+            seats.set(t, tableSeats[t]);
+            calendars.add(new TreeMap<>());
+        }
+    }
+
+    /**
+     * Books the lowest index table with enough seats that is free for [start, end).
+     *
+     * @return the new reservation, or null if every table that fits is booked
+     * @throws IllegalArgumentException if the party or time interval is invalid
+     */
+    public Reservation book(String name, int numberOfPeople, long start, long end) {
+        validate(numberOfPeople, start, end);
+        int table = findTable(numberOfPeople, start, end);
+        return table < 0 ? null : add(name, numberOfPeople, table, start, end);
+    }
+
+    /**
+     * Books the given table for [start, end).
+     *
+     * @return the new reservation, or null if the table is already booked during the interval
+     * @throws IllegalArgumentException if the table does not exist or is too small, or the
+     *         party or time interval is invalid
+     */
+    public Reservation book(String name, int numberOfPeople, int table, long start, long end) {
+        validate(numberOfPeople, start, end);
+        if (table < 0 || table >= tableSeats.length) {
+            throw new IllegalArgumentException("Table " + table + " does not exist");
+        }
+        if (tableSeats[table] < numberOfPeople) {
+            throw new IllegalArgumentException("Table " + table + " has " + tableSeats[table]
+                + " seats, party has " + numberOfPeople);
+        }
+        return isFree(table, start, end) ? add(name, numberOfPeople, table, start, end) : null;
+    }
+
+    /**
+     * @return the lowest index table with at least numberOfPeople seats and no booking
+     *         overlapping [start, end), or -1 if there is none
+     * @throws IllegalArgumentException if the party or time interval is invalid
+     */
+    public int findTable(int numberOfPeople, long start, long end) {
+        validate(numberOfPeople, start, end);
+        for (int t = seats.nextAtLeast(0, numberOfPeople); t >= 0; t = seats.nextAtLeast(t + 1, numberOfPeople)) {
+            if (isFree(t, start, end)) return t;
+        }
+        return -1;
+    }
+
+    /**
+     * @return true if no booking of the table overlaps [start, end)
+     */
+    public boolean isFree(int table, long start, long end) {
+        Map.Entry<Long, Reservation> before = calendars.get(table).lowerEntry(end);
+        return before == null || before.getValue().getEnd() <= start;
+    }
+
+    /**
+     * Removes a booking.
+     *
+     * @return the removed reservation, or null if there is none with that ID
+     */
+    public Reservation cancel(long id) {
+        Reservation reservation = byId.remove(id);
+        if (reservation != null) {
+            calendars.get(reservation.getTable()).remove(reservation.getStart());
+            notStarted.remove(reservation);
+        }
+        return reservation;
+    }
+
+    /**
+     * Removes and returns, in start order, every booking that starts at or before now and
+     * has not been returned yet. The bookings stay on their tables until they end.
+     */
+    public List<Reservation> pollDue(long now) {
+        List<Reservation> due = new ArrayList<>();
+        while (!notStarted.isEmpty() && notStarted.first().getStart() <= now) {
+            due.add(notStarted.pollFirst());
+        }
+        return due;
+    }
+
+    /**
+     * Forgets every booking that ends at or before time, so the calendars only hold
+     * current and future bookings.
+     *
+     * @return the number of bookings removed
+     */
+    public int removeEndedBefore(long time) {
+        int removed = 0;
+        for (TreeMap<Long, Reservation> calendar : calendars) {
+            Map.Entry<Long, Reservation> first;
+            while ((first = calendar.firstEntry()) != null && first.getValue().getEnd() <= time) {
+                calendar.pollFirstEntry();
+                byId.remove(first.getValue().getId());
+                notStarted.remove(first.getValue());
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * @return the bookings of a table that overlap [from, to), in start order
+     */
+    public List<Reservation> getReservations(int table, long from, long to) {
+        TreeMap<Long, Reservation> calendar = calendars.get(table);
+        Map.Entry<Long, Reservation> before = calendar.lowerEntry(from);
+        long firstStart = before != null && before.getValue().getEnd() > from ? before.getKey() : from;
+        return new ArrayList<>(calendar.subMap(firstStart, true, to, false).values());
+    }
+
+    public Reservation getReservation(long id) {
+        return byId.get(id);
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    public int getNumberOfTables() {
+        return tableSeats.length;
+    }
+
+    private Reservation add(String name, int numberOfPeople, int table, long start, long end) {
+        Reservation reservation = new Reservation(nextId++, name, numberOfPeople, table, start, end);
+        calendars.get(table).put(start, reservation);
+        byId.put(reservation.getId(), reservation);
+        notStarted.add(reservation);
+        return reservation;
+    }
+
+    private static void validate(int numberOfPeople, long start, long end) {
+        if (numberOfPeople <= 0) {
+            throw new IllegalArgumentException("A party needs at least one person");
+        }
+        if (end <= start) {
+            throw new IllegalArgumentException("A reservation must end after it starts");
+        }
+    }
+}
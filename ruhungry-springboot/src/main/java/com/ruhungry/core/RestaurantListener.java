@@ -0,0 +1,46 @@
+package com.ruhungry.core;
+
+/**
+ * Receives a callback each time RUHungry changes its stock or its transactions.
+ * Callbacks run on the thread that made the change, so implementations should
+ * only record what happened and return. Each change increments RUHungry.getVersion()
+ * and passes the version it took to the callback. Callbacks from different threads may
+ * arrive out of version order.
+ *
+ * Register with RUHungry.addListener.
+ */
+public interface RestaurantListener {
+
+    /*
+     * Called after an ingredient's stock level changed.
+     * @param ingredient the ingredient, already holding its new stock level
+     * @param amountAdded the change that was applied (negative when stock was used)
+     * @param version the engine version of this change
+     */
+    default void stockChanged(Ingredient ingredient, int amountAdded, long version) {}
+
+    /*
+     * Called after a transaction was added to the end of the transactions list.
+     * @param data the transaction that was recorded
+     * @param version the engine version of this change
+     */
+    default void transactionAdded(TransactionData data, long version) {}
+
+    /*
+     * Called after the whole stock hashtable was loaded again.
+     * @param version the engine version of this change
+     */
+    default void stockReloaded(long version) {}
+
+    /*
+     * Called after the transactions list was cleared.
+     * @param version the engine version of this change
+     */
+    default void transactionsCleared(long version) {}
+
+    /*
+     * Called after the menu was loaded or the price and profit of its dishes were recomputed.
+     * @param version the engine version of this change
+     */
+    default void menuChanged(long version) {}
+}
@@ -0,0 +1,80 @@
+package com.ruhungry.core;
+
+/**
+ * A segment tree over table indices that tracks runs of adjacent free tables and the
+ * total seats in each run. It answers "lowest index where a run of free tables with at
+ * least n seats starts" in O(log T).
+ *
+ * Every node keeps the seats in its longest free prefix, its longest free suffix (and
+ * how many tables that suffix has) and its best free run, so two children combine in
+ * constant time.
+ */
+class RunIndex {
+    private final int leaves;     // power of two >= number of tables
+    private final int[] prefix;   // seats in the free run that starts at the node's first table
+    private final int[] suffix;   // seats in the free run that ends at the node's last table
+    private final int[] suffixLength; // number of tables in that suffix run
+    private final int[] best;     // seats in the largest free run inside the node
+
+    /*
+     * Constructor
+     * @param numberOfTables the number of tables, all starting occupied
+     */
+    RunIndex(int numberOfTables) {
+        int size = 1;
+        while (size < numberOfTables) size <<= 1;
+        leaves = size;
+        prefix = new int[2 * size];
+        suffix = new int[2 * size];
+        suffixLength = new int[2 * size];
+        best = new int[2 * size];
+    }
+
+    /*
+     * Marks a table free with the given seats, or occupied when seats is 0.
+     */
+    void set(int table, int seats) {
+        int node = leaves + table;
+        prefix[node] = seats;
+        suffix[node] = seats;
+        suffixLength[node] = seats > 0 ? 1 : 0;
+        best[node] = seats;
+
+        int length = 1; // number of tables under a child of the current node
+        for (node >>= 1; node > 0; node >>= 1, length <<= 1) {
+            int left = 2 * node;
+            int right = left + 1;
+            boolean leftFree = suffixLength[left] == length;
+            boolean rightFree = suffixLength[right] == length;
+            prefix[node] = leftFree ? suffix[left] + prefix[right] : prefix[left];
+            suffix[node] = rightFree ? suffix[right] + suffix[left] : suffix[right];
+            suffixLength[node] = rightFree ? length + suffixLength[left] : suffixLength[right];
+            best[node] = Math.max(Math.max(best[left], best[right]), suffix[left] + prefix[right]);
+        }
+    }
+
+    /*
+     * @return the lowest table index where a run of free tables holding at least n seats
+     *         starts, or -1 if there is none
+     */
+    int firstRunOfAtLeast(int n) {
+        if (best[1] < n) return -1;
+        int node = 1;
+        int start = 0;           // first table under node
+        int length = leaves;     // number of tables under node
+        while (node < leaves) {
+            int left = 2 * node;
+            int right = left + 1;
+            length >>= 1;
+            if (best[left] >= n) {
+                node = left;
+            } else if (suffix[left] + prefix[right] >= n) {
+                return start + length - suffixLength[left];
+            } else {
+                node = right;
+                start += length;
+            }
+        }
+        return start;
+    }
+}
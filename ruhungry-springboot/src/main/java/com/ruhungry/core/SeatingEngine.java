@@ -0,0 +1,272 @@
+package com.ruhungry.core;
+
+import java.util.function.Consumer;
+
+/**
+ * Seats parties following the rules of RUHungry.seatAllGuests:
+ * a party sits at the lowest index free table that fits it, and when no free table fits,
+ * the party at the lowest index table that fits is removed to make room.
+ *
+ * Free and occupied tables are kept in two TableIndex trees holding each table's seats
+ * (0 when the table is in the other state), so both searches take O(log T) instead of
+ * scanning tableSeats from index 0.
+ *
+ * With combineTables on, a party larger than every single table sits at the lowest index
+ * run of adjacent free tables that holds it, found with a RunIndex over free capacity.
+ * When no free run holds it, the parties at tables 0, 1, ... are removed until enough
+ * adjacent seats are free. A seated party fills tables[t] for every table of its run.
+ *
+ * A table held for a reservation counts as 0 seats in both trees, so walk-ins are never
+ * seated at it nor removed from it, and runs of tables never cross it.
+ */
+public class SeatingEngine {
+    private final int[] tableSeats;        // the number of seats at each table
+    private final Party[] tables;          // parties currently occupying the tables
+    private final TableIndex freeTables;   // seats of each free table, 0 if occupied
+    private final TableIndex occupiedTables; // seats of each occupied table, 0 if free
+    private final RunIndex freeRuns;       // runs of adjacent free tables, null unless combining
+    private final int[] runStart;          // first table of the run each occupied table belongs to
+    private final int[] runEnd;            // last table of the run each occupied table belongs to
+    private final boolean[] held;          // tables kept for reservations
+    private int largestTable;
+    private int totalSeats;
+
+    /*
+     * Constructor
+     * @param tableSeats the number of seats at each table
+     * @param tables array parallel to tableSeats that is filled with the seated parties
+     */
+    public SeatingEngine(int[] tableSeats, Party[] tables) {
+        this(tableSeats, tables, false);
+    }
+
+    /*
+     * Constructor
+     * @param tableSeats the number of seats at each table
+     * @param tables array parallel to tableSeats that is filled with the seated parties
+     * @param combineTables true to seat parties larger than every table at adjacent free tables
+     */
+    public SeatingEngine(int[] tableSeats, Party[] tables, boolean combineTables) {
+        this.tableSeats = tableSeats;
+        this.tables = tables;
+        freeTables = new TableIndex(tableSeats.length);
+        occupiedTables = new TableIndex(tableSeats.length);
+        freeRuns = combineTables ? new RunIndex(tableSeats.length) : null;
+        runStart = new int[tableSeats.length];
+        runEnd = new int[tableSeats.length];
+        held = new boolean[tableSeats.length];
+        for (int seats : tableSeats) {
+            largestTable = Math.max(largestTable, seats);
+            totalSeats += seats;
+        }
+        for (int t = 0; t < tableSeats.length; t++) {
+            if (tables[t] == null) {
+                markFree(t);
+                continue;
+            }
+            // in combining mode adjacent tables holding the same party are one run
+            int end = t;
+            if (combineTables) {
+                while (end + 1 < tables.length && tables[end + 1] == tables[t]) end++;
+            }
+            for (int s = t; s <= end; s++) {
+                runStart[s] = t;
+                runEnd[s] = end;
+                markOccupied(s);
+            }
+            t = end;
+        }
+    }
+
+    /**
+     * Seats one party. If no free table fits, the party sitting at the lowest index
+     * table that fits is removed and passed to leftParties.
+     *
+     * @param party the next party in line
+     * @param leftParties receives the party that had to leave, if any
+     * @return the index of the table the party now sits at
+     * @throws IllegalArgumentException if the party has fewer than one person, or no table
+     *         has enough seats for it
+     */
+    public int seat(Party party, Consumer<Party> leftParties) {
+        int size = sizeOf(party);
+        if (freeRuns != null && size > largestTable) {
+            return seatAtRun(party, leftParties);
+        }
+        int table = freeTables.firstAtLeast(size);
+        if (table < 0) {
+            table = occupiedTables.firstAtLeast(size);
+            if (table < 0) {
+                throw new IllegalArgumentException("No table has " + size + " seats for party " + party.getName()
+                    + " (largest table has " + largestTable + ")");
+            }
+            leftParties.accept(vacate(table));
+        }
+        occupy(table, table, party);
+        return table;
+    }
+
+    /**
+     * Seats a party only if a free table (or, when combining, a run of free tables) fits
+     * it. Nobody is asked to leave.
+     *
+     * @param party the party to seat
+     * @return the index of the table the party now sits at, or -1 if it has to wait
+     * @throws IllegalArgumentException if the party has fewer than one person
+     */
+    public int seatIfFree(Party party) {
+        int size = sizeOf(party);
+        boolean run = freeRuns != null && size > largestTable;
+        int start = run ? freeRuns.firstRunOfAtLeast(size) : freeTables.firstAtLeast(size);
+        if (start >= 0) {
+            occupy(start, run ? lastTableOfRun(start, size) : start, party);
+        }
+        return start;
+    }
+
+    /**
+     * Keeps a free table for a reservation: no walk-in is seated at it from now on.
+     *
+     * @param table the booked table
+     * @throws IllegalStateException if a party sits at the table
+     */
+    public void hold(int table) {
+        if (tables[table] != null) {
+            throw new IllegalStateException("Table " + table + " is occupied");
+        }
+        held[table] = true;
+        markFree(table);
+    }
+
+    /**
+     * Seats a party at the table held for its reservation. Walk-ins never remove it.
+     *
+     * @param table the held table
+     * @param party the party that booked it
+     * @throws IllegalArgumentException if the table is not held or not free, or the party
+     *         has fewer than one person
+     */
+    public void seatAt(int table, Party party) {
+        sizeOf(party);
+        if (!held[table] || tables[table] != null) {
+            throw new IllegalArgumentException("Table " + table + " is not held free for party " + party.getName());
+        }
+        tables[table] = party;
+        runStart[table] = table;
+        runEnd[table] = table;
+        party.setTableIndex(table);
+    }
+
+    /*
+     * Seats a party larger than every table at the lowest index run of adjacent free
+     * tables that holds it. When none does, the parties at the lowest index run of tables
+     * without a held table that holds it are removed.
+     */
+    private int seatAtRun(Party party, Consumer<Party> leftParties) {
+        int size = party.getNumberOfPeople();
+        int start = freeRuns.firstRunOfAtLeast(size);
+        if (start < 0) {
+            start = firstRunWithoutHeld(size);
+            if (start < 0) {
+                throw new IllegalArgumentException("No run of tables has " + size + " seats for party "
+                    + party.getName() + " (all tables together have " + totalSeats + ")");
+            }
+            for (int t = start, seats = 0; seats < size; seats += tableSeats[t++]) {
+                if (tables[t] != null) leftParties.accept(vacate(t));
+            }
+        }
+        occupy(start, lastTableOfRun(start, size), party);
+        return start;
+    }
+
+    /*
+     * An occupied table is kept as 0 seats in freeTables, so a size below 1 would match it
+     * and seat the party on top of the one already there.
+     */
+    private static int sizeOf(Party party) {
+        int size = party.getNumberOfPeople();
+        if (size < 1) {
+            throw new IllegalArgumentException("Party " + party.getName() + " has " + size
+                + " people; a party needs at least one");
+        }
+        return size;
+    }
+
+    // the first table of the lowest index run of adjacent tables, none held, with size seats, or -1
+    private int firstRunWithoutHeld(int size) {
+        for (int t = 0, start = 0, seats = 0; t < tableSeats.length; t++) {
+            if (held[t]) {
+                start = t + 1;
+                seats = 0;
+                continue;
+            }
+            seats += tableSeats[t];
+            if (seats >= size) return start;
+        }
+        return -1;
+    }
+
+    // the first table from start on at which the seats since start add up to size
+    private int lastTableOfRun(int start, int size) {
+        int end = start;
+        for (int seats = tableSeats[start]; seats < size; seats += tableSeats[++end]) { }
+        return end;
+    }
+
+    /**
+     * Removes every seated party, in table index order, and passes them to leftParties.
+     */
+    public void emptyTables(Consumer<Party> leftParties) {
+        for (int t = 0; t < tables.length; t++) {
+            if (tables[t] != null) leftParties.accept(vacate(t));
+        }
+    }
+
+    // seats the party at tables start..end
+    private void occupy(int start, int end, Party party) {
+        for (int t = start; t <= end; t++) {
+            tables[t] = party;
+            runStart[t] = start;
+            runEnd[t] = end;
+            markOccupied(t);
+        }
+        party.setTableIndex(start);
+    }
+
+    /**
+     * Removes the party sitting at a table, freeing every table it occupies.
+     *
+     * @param table a table the party sits at
+     * @return the party that left, or null if the table was free
+     */
+    public Party vacate(int table) {
+        Party party = tables[table];
+        if (party == null) return null;
+        for (int t = runStart[table], end = runEnd[table]; t <= end; t++) {
+            tables[t] = null;
+            markFree(t);
+        }
+        return party;
+    }
+
+    private void markFree(int table) {
+        int seats = held[table] ? 0 : tableSeats[table];
+        occupiedTables.set(table, 0);
+        freeTables.set(table, seats);
+        if (freeRuns != null) freeRuns.set(table, seats);
+    }
+
+    private void markOccupied(int table) {
+        freeTables.set(table, 0);
+        occupiedTables.set(table, tableSeats[table]);
+        if (freeRuns != null) freeRuns.set(table, 0);
+    }
+
+    public Party[] getTables() {
+        return tables;
+    }
+
+    public int[] getTableSeats() {
+        return tableSeats;
+    }
+}
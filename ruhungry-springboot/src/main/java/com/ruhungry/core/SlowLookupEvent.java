@@ -0,0 +1,31 @@
+package com.ruhungry.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A lookup by ingredient ID that walked more chain nodes than the restaurant's
+ * slow lookup threshold. The stack trace shows who looked it up.
+ */
+@Name("com.ruhungry.SlowLookup")
+@Label("Slow Stock Lookup")
+@Category({"RUHungry", "Engine"})
+@Description("A stock lookup by ID visited more chain nodes than the threshold")
+final class SlowLookupEvent extends jdk.jfr.Event {
+
+    @Label("Ingredient ID")
+    int ingredientId;
+
+    @Label("Bucket")
+    @Description("id % stockVarSize")
+    int bucket;
+
+    @Label("Probes")
+    @Description("Chain nodes visited")
+    int probes;
+
+    @Label("Found")
+    boolean found;
+}
@@ -0,0 +1,31 @@
+package com.ruhungry.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One change to an ingredient's stock level.
+ */
+@Name("com.ruhungry.StockChange")
+@Label("Stock Change")
+@Category({"RUHungry", "Engine"})
+@Description("An ingredient's stock level changed")
+@StackTrace(false)
+final class StockChangeEvent extends jdk.jfr.Event {
+
+    @Label("Ingredient ID")
+    int ingredientId;
+
+    @Label("Ingredient")
+    String ingredient;
+
+    @Label("Delta")
+    int delta;
+
+    @Label("Stock Level")
+    @Description("The stock level after the change")
+    int stockLevel;
+}
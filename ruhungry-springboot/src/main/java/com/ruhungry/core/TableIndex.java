@@ -0,0 +1,69 @@
+package com.ruhungry.core;
+
+/**
+ * A segment tree over table indices that answers "lowest index whose value is at least n"
+ * in O(log T). Each table holds a value (its number of seats, or 0 to hide it) and every
+ * inner node holds the largest value below it.
+ */
+class TableIndex {
+    private final int leaves; // power of two >= number of tables
+    private final int[] max;  // max[1] is the root, table i is max[leaves + i]
+
+    /*
+     * Constructor
+     * @param numberOfTables the number of tables, all starting at 0
+     */
+    TableIndex(int numberOfTables) {
+        int size = 1;
+        while (size < numberOfTables) size <<= 1;
+        leaves = size;
+        max = new int[2 * size];
+    }
+
+    /*
+     * Sets the value of a table and updates its ancestors.
+     */
+    void set(int table, int value) {
+        int node = leaves + table;
+        max[node] = value;
+        for (node >>= 1; node > 0; node >>= 1) {
+            max[node] = Math.max(max[2 * node], max[2 * node + 1]);
+        }
+    }
+
+    int get(int table) {
+        return max[leaves + table];
+    }
+
+    /*
+     * @return the lowest table index whose value is at least n, or -1 if there is none
+     */
+    int firstAtLeast(int n) {
+        if (max[1] < n) return -1;
+        int node = 1;
+        while (node < leaves) {
+            node = max[2 * node] >= n ? 2 * node : 2 * node + 1;
+        }
+        return node - leaves;
+    }
+
+    /*
+     * @return the lowest table index at or after from whose value is at least n,
+     *         or -1 if there is none
+     */
+    int nextAtLeast(int from, int n) {
+        if (from >= leaves) return -1;
+        int node = leaves + from;
+        if (max[node] >= n) return from;
+        // climb until a right sibling holds a large enough value, then descend into it
+        while (node > 1 && ((node & 1) == 1 || max[node + 1] < n)) {
+            node >>= 1;
+        }
+        if (node == 1) return -1;
+        node++;
+        while (node < leaves) {
+            node = max[2 * node] >= n ? 2 * node : 2 * node + 1;
+        }
+        return node - leaves;
+    }
+}
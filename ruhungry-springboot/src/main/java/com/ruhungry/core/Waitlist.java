@@ -0,0 +1,147 @@
+package com.ruhungry.core;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A waiting line that many threads can check parties into at once while a single
+ * seating thread takes them out in arrival order.
+ *
+ * Producers only swap the tail with getAndSet and link the previous node, so check-ins
+ * never lock or retry. The consumer follows next links from a stub head node. Producer
+ * counts use a LongAdder and consumer counts have a single writer, so keeping queue
+ * length and wait times does not add contention.
+ *
+ * poll, drainTo, copyTo and remove must only be called by one thread at a time.
+ */
+public class Waitlist {
+
+    // one waiting party
+    private static final class Node {
+        private Party party;
+        private final long enqueuedAt;
+        private volatile Node next;
+
+        private Node(Party party, long enqueuedAt) {
+            this.party = party;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    private final AtomicReference<Node> tail; // most recently checked in, swapped by producers
+    private Node head;                         // already consumed stub, owned by the consumer
+
+    private final LongAdder checkedIn = new LongAdder();
+    private volatile long seated;         // written only by the consumer
+    private volatile long totalWaitNanos; // written only by the consumer
+    private volatile long maxWaitNanos;   // written only by the consumer
+
+    /**
+     * Initializes an empty waitlist.
+     */
+    public Waitlist() {
+        Node stub = new Node(null, 0);
+        head = stub;
+        tail = new AtomicReference<>(stub);
+    }
+
+    /**
+     * Checks a party in at the end of the line. Safe to call from any number of threads.
+     *
+     * @param party the party that arrived
+     */
+    public void enqueue(Party party) {
+        Node node = new Node(party, System.nanoTime());
+        Node previous = tail.getAndSet(node);
+        previous.next = node;
+        checkedIn.increment();
+    }
+
+    /**
+     * Removes and returns the party that has waited longest.
+     *
+     * @return the next party, or null if no check-in is visible yet
+     */
+    public Party poll() {
+        Node next = head.next;
+        if (next == null) {
+            return null;
+        }
+        Party party = next.party;
+        next.party = null; // next becomes the stub; avoid loitering
+        head = next;
+        recordSeated(System.nanoTime() - next.enqueuedAt);
+        return party;
+    }
+
+    /**
+     * Moves every waiting party, in arrival order, to the end of target.
+     *
+     * @param target the queue the seating loop works from
+     * @return the number of parties moved
+     */
+    public int drainTo(Queue<Party> target) {
+        int moved = copyTo(target);
+        remove(moved);
+        return moved;
+    }
+
+    /**
+     * Adds every waiting party, in arrival order, to the end of target without taking them
+     * out of the line. Pass the count to remove once they have been seated; if seating
+     * fails, they are still waiting in their places.
+     *
+     * @param target the queue the seating loop works from
+     * @return the number of parties copied
+     */
+    public int copyTo(Queue<Party> target) {
+        int copied = 0;
+        for (Node node = head.next; node != null; node = node.next) {
+            target.enqueue(node.party);
+            copied++;
+        }
+        return copied;
+    }
+
+    /**
+     * Takes the first count parties out of the line, recording them as seated.
+     *
+     * @param count at most the number of parties last returned by copyTo
+     */
+    public void remove(int count) {
+        for (int i = 0; i < count && poll() != null; i++) { }
+    }
+
+    private void recordSeated(long waitNanos) {
+        seated = seated + 1;
+        totalWaitNanos = totalWaitNanos + waitNanos;
+        if (waitNanos > maxWaitNanos) {
+            maxWaitNanos = waitNanos;
+        }
+    }
+
+    /*
+     * Statistics, readable from any thread
+     */
+
+    // number of parties waiting, may briefly lag a concurrent enqueue or poll
+    public long size() {
+        return Math.max(0, checkedIn.sum() - seated);
+    }
+
+    public long getCheckedIn() {
+        return checkedIn.sum();
+    }
+
+    public long getSeated() {
+        return seated;
+    }
+
+    public long getTotalWaitNanos() {
+        return totalWaitNanos;
+    }
+
+    public long getMaxWaitNanos() {
+        return maxWaitNanos;
+    }
+}
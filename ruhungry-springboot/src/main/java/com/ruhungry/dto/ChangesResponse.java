@@ -0,0 +1,49 @@
+package com.ruhungry.dto;
+
+import java.util.List;
+
+public class ChangesResponse {
+    private long since;
+    private long version;
+    private boolean fullSnapshot;
+    private boolean transactionsCleared;
+    private List<StockResponse> ingredients;
+    private List<DishDTO> dishes;
+    private List<TransactionDTO> transactions;
+
+    public ChangesResponse() {}
+
+    public ChangesResponse(long since, long version, boolean fullSnapshot, boolean transactionsCleared,
+                           List<StockResponse> ingredients, List<DishDTO> dishes,
+                           List<TransactionDTO> transactions) {
+        this.since = since;
+        this.version = version;
+        this.fullSnapshot = fullSnapshot;
+        this.transactionsCleared = transactionsCleared;
+        this.ingredients = ingredients;
+        this.dishes = dishes;
+        this.transactions = transactions;
+    }
+
+    // Getters and setters
+    public long getSince() { return since; }
+    public void setSince(long since) { this.since = since; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
+    public boolean isFullSnapshot() { return fullSnapshot; }
+    public void setFullSnapshot(boolean fullSnapshot) { this.fullSnapshot = fullSnapshot; }
+
+    public boolean isTransactionsCleared() { return transactionsCleared; }
+    public void setTransactionsCleared(boolean transactionsCleared) { this.transactionsCleared = transactionsCleared; }
+
+    public List<StockResponse> getIngredients() { return ingredients; }
+    public void setIngredients(List<StockResponse> ingredients) { this.ingredients = ingredients; }
+
+    public List<DishDTO> getDishes() { return dishes; }
+    public void setDishes(List<DishDTO> dishes) { this.dishes = dishes; }
+
+    public List<TransactionDTO> getTransactions() { return transactions; }
+    public void setTransactions(List<TransactionDTO> transactions) { this.transactions = transactions; }
+}
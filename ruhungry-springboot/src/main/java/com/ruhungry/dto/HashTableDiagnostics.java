@@ -0,0 +1,69 @@
+package com.ruhungry.dto;
+
+import java.util.Map;
+
+public class HashTableDiagnostics {
+    private int buckets;                         // stockVarSize, the first line of stock.in
+    private int entries;                         // ingredients in the table
+    private double loadFactor;                   // entries / buckets
+    private int emptyBuckets;
+    private int longestChain;
+    private int longestChainBucket;              // id % buckets of the longest chain, -1 if the table is empty
+    private double meanProbesPerHit;             // nodes a lookup by ID visits on average, over every ingredient
+    private Map<Integer, Integer> chainLengths;  // chain length -> number of buckets with that length
+    private int categories;
+    private int dishes;
+    private Map<String, Integer> categoryLengths; // category -> dishes in its menuVar list, in menu order
+
+    public HashTableDiagnostics() {}
+
+    public HashTableDiagnostics(int buckets, int entries, int emptyBuckets, int longestChain, int longestChainBucket,
+                                double meanProbesPerHit, Map<Integer, Integer> chainLengths,
+                                int dishes, Map<String, Integer> categoryLengths) {
+        this.buckets = buckets;
+        this.entries = entries;
+        this.loadFactor = buckets == 0 ? 0 : (double) entries / buckets;
+        this.emptyBuckets = emptyBuckets;
+        this.longestChain = longestChain;
+        this.longestChainBucket = longestChainBucket;
+        this.meanProbesPerHit = meanProbesPerHit;
+        this.chainLengths = chainLengths;
+        this.categories = categoryLengths.size();
+        this.dishes = dishes;
+        this.categoryLengths = categoryLengths;
+    }
+
+    // Getters and setters
+    public int getBuckets() { return buckets; }
+    public void setBuckets(int buckets) { this.buckets = buckets; }
+
+    public int getEntries() { return entries; }
+    public void setEntries(int entries) { this.entries = entries; }
+
+    public double getLoadFactor() { return loadFactor; }
+    public void setLoadFactor(double loadFactor) { this.loadFactor = loadFactor; }
+
+    public int getEmptyBuckets() { return emptyBuckets; }
+    public void setEmptyBuckets(int emptyBuckets) { this.emptyBuckets = emptyBuckets; }
+
+    public int getLongestChain() { return longestChain; }
+    public void setLongestChain(int longestChain) { this.longestChain = longestChain; }
+
+    public int getLongestChainBucket() { return longestChainBucket; }
+    public void setLongestChainBucket(int longestChainBucket) { this.longestChainBucket = longestChainBucket; }
+
+    public double getMeanProbesPerHit() { return meanProbesPerHit; }
+    public void setMeanProbesPerHit(double meanProbesPerHit) { this.meanProbesPerHit = meanProbesPerHit; }
+
+    public Map<Integer, Integer> getChainLengths() { return chainLengths; }
+    public void setChainLengths(Map<Integer, Integer> chainLengths) { this.chainLengths = chainLengths; }
+
+    public int getCategories() { return categories; }
+    public void setCategories(int categories) { this.categories = categories; }
+
+    public int getDishes() { return dishes; }
+    public void setDishes(int dishes) { this.dishes = dishes; }
+
+    public Map<String, Integer> getCategoryLengths() { return categoryLengths; }
+    public void setCategoryLengths(Map<String, Integer> categoryLengths) { this.categoryLengths = categoryLengths; }
+}
@@ -0,0 +1,31 @@
+package com.ruhungry.dto;
+
+import java.util.Map;
+
+/**
+ * Latency of every endpoint and engine operation since the previous report.
+ */
+public class LatencyReport {
+    private long intervalMillis;
+    private Map<String, LatencySnapshot> endpoints;
+    private Map<String, LatencySnapshot> engine;
+
+    public LatencyReport() {}
+
+    public LatencyReport(long intervalMillis, Map<String, LatencySnapshot> endpoints,
+                         Map<String, LatencySnapshot> engine) {
+        this.intervalMillis = intervalMillis;
+        this.endpoints = endpoints;
+        this.engine = engine;
+    }
+
+    // Getters and setters
+    public long getIntervalMillis() { return intervalMillis; }
+    public void setIntervalMillis(long intervalMillis) { this.intervalMillis = intervalMillis; }
+
+    public Map<String, LatencySnapshot> getEndpoints() { return endpoints; }
+    public void setEndpoints(Map<String, LatencySnapshot> endpoints) { this.endpoints = endpoints; }
+
+    public Map<String, LatencySnapshot> getEngine() { return engine; }
+    public void setEngine(Map<String, LatencySnapshot> engine) { this.engine = engine; }
+}
@@ -0,0 +1,20 @@
+package com.ruhungry.dto;
+
+public class PartyRequest {
+    private String name;
+    private int numberOfPeople;
+
+    public PartyRequest() {}
+
+    public PartyRequest(String name, int numberOfPeople) {
+        this.name = name;
+        this.numberOfPeople = numberOfPeople;
+    }
+
+    // Getters and setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public int getNumberOfPeople() { return numberOfPeople; }
+    public void setNumberOfPeople(int numberOfPeople) { this.numberOfPeople = numberOfPeople; }
+}
@@ -0,0 +1,38 @@
+package com.ruhungry.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.ruhungry.replay.ReplaySummary;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReplayReport {
+    private ReplaySummary summary;
+    private double profit;          // the restaurant's total profit after the replay
+    private long elapsedMillis;
+    private String error;           // why the replay stopped early, null if every line was applied
+
+    public ReplayReport() {}
+
+    public ReplayReport(ReplaySummary summary, double profit, long elapsedMillis, String error) {
+        this.summary = summary;
+        this.profit = profit;
+        this.elapsedMillis = elapsedMillis;
+        this.error = error;
+    }
+
+    public double getLinesPerSecond() {
+        return elapsedMillis == 0 ? 0 : summary.getCommands() * 1000.0 / elapsedMillis;
+    }
+
+    // Getters and setters
+    public ReplaySummary getSummary() { return summary; }
+    public void setSummary(ReplaySummary summary) { this.summary = summary; }
+
+    public double getProfit() { return profit; }
+    public void setProfit(double profit) { this.profit = profit; }
+
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
@@ -0,0 +1,42 @@
+package com.ruhungry.dto;
+
+import java.time.Instant;
+
+public class ReservationDTO {
+    private long id;
+    private String name;
+    private int numberOfPeople;
+    private int table;
+    private Instant start;
+    private Instant end;
+
+    public ReservationDTO() {}
+
+    public ReservationDTO(long id, String name, int numberOfPeople, int table, Instant start, Instant end) {
+        this.id = id;
+        this.name = name;
+        this.numberOfPeople = numberOfPeople;
+        this.table = table;
+        this.start = start;
+        this.end = end;
+    }
+
+    // Getters and setters
+    public long getId() { return id; }
+    public void setId(long id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public int getNumberOfPeople() { return numberOfPeople; }
+    public void setNumberOfPeople(int numberOfPeople) { this.numberOfPeople = numberOfPeople; }
+
+    public int getTable() { return table; }
+    public void setTable(int table) { this.table = table; }
+
+    public Instant getStart() { return start; }
+    public void setStart(Instant start) { this.start = start; }
+
+    public Instant getEnd() { return end; }
+    public void setEnd(Instant end) { this.end = end; }
+}
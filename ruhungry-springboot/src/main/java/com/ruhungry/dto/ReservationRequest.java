@@ -0,0 +1,37 @@
+package com.ruhungry.dto;
+
+import java.time.Instant;
+
+public class ReservationRequest {
+    private String name;
+    private int numberOfPeople;
+    private Instant start;
+    private Instant end;
+    private Integer table;
+
+    public ReservationRequest() {}
+
+    public ReservationRequest(String name, int numberOfPeople, Instant start, Instant end, Integer table) {
+        this.name = name;
+        this.numberOfPeople = numberOfPeople;
+        this.start = start;
+        this.end = end;
+        this.table = table;
+    }
+
+    // Getters and setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public int getNumberOfPeople() { return numberOfPeople; }
+    public void setNumberOfPeople(int numberOfPeople) { this.numberOfPeople = numberOfPeople; }
+
+    public Instant getStart() { return start; }
+    public void setStart(Instant start) { this.start = start; }
+
+    public Instant getEnd() { return end; }
+    public void setEnd(Instant end) { this.end = end; }
+
+    public Integer getTable() { return table; }
+    public void setTable(Integer table) { this.table = table; }
+}
@@ -0,0 +1,44 @@
+package com.ruhungry.dto;
+
+import com.ruhungry.replay.ReplaySummary;
+
+import java.util.List;
+
+public class SandboxReport {
+    private ReplaySummary summary;
+    private double profitBefore;
+    private double profitAfter;
+    private List<StockDelta> stockChanges;   // every ingredient the replay changed
+    private List<String> stockOuts;          // changed ingredients left with no stock
+
+    public SandboxReport() {}
+
+    public SandboxReport(ReplaySummary summary, double profitBefore, double profitAfter,
+                         List<StockDelta> stockChanges, List<String> stockOuts) {
+        this.summary = summary;
+        this.profitBefore = profitBefore;
+        this.profitAfter = profitAfter;
+        this.stockChanges = stockChanges;
+        this.stockOuts = stockOuts;
+    }
+
+    public double getProfitDelta() {
+        return profitAfter - profitBefore;
+    }
+
+    // Getters and setters
+    public ReplaySummary getSummary() { return summary; }
+    public void setSummary(ReplaySummary summary) { this.summary = summary; }
+
+    public double getProfitBefore() { return profitBefore; }
+    public void setProfitBefore(double profitBefore) { this.profitBefore = profitBefore; }
+
+    public double getProfitAfter() { return profitAfter; }
+    public void setProfitAfter(double profitAfter) { this.profitAfter = profitAfter; }
+
+    public List<StockDelta> getStockChanges() { return stockChanges; }
+    public void setStockChanges(List<StockDelta> stockChanges) { this.stockChanges = stockChanges; }
+
+    public List<String> getStockOuts() { return stockOuts; }
+    public void setStockOuts(List<String> stockOuts) { this.stockOuts = stockOuts; }
+}
@@ -0,0 +1,70 @@
+package com.ruhungry.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One line of a seating NDJSON stream. "left" lines give the departure order,
+ * "table" lines the table assignments right before the final flush, and an
+ * "error" line ends the stream early.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SeatingEvent {
+    private String event;
+    private Long order;
+    private Integer table;
+    private Integer seats;
+    private String name;
+    private Integer numberOfPeople;
+    private String message;
+
+    public SeatingEvent() {}
+
+    public static SeatingEvent left(long order, String name, int numberOfPeople, int table) {
+        SeatingEvent e = new SeatingEvent();
+        e.event = "left";
+        e.order = order;
+        e.name = name;
+        e.numberOfPeople = numberOfPeople;
+        e.table = table;
+        return e;
+    }
+
+    public static SeatingEvent table(int table, int seats, String name, int numberOfPeople) {
+        SeatingEvent e = new SeatingEvent();
+        e.event = "table";
+        e.table = table;
+        e.seats = seats;
+        e.name = name;
+        e.numberOfPeople = numberOfPeople;
+        return e;
+    }
+
+    public static SeatingEvent error(String message) {
+        SeatingEvent e = new SeatingEvent();
+        e.event = "error";
+        e.message = message;
+        return e;
+    }
+
+    // Getters and setters
+    public String getEvent() { return event; }
+    public void setEvent(String event) { this.event = event; }
+
+    public Long getOrder() { return order; }
+    public void setOrder(Long order) { this.order = order; }
+
+    public Integer getTable() { return table; }
+    public void setTable(Integer table) { this.table = table; }
+
+    public Integer getSeats() { return seats; }
+    public void setSeats(Integer seats) { this.seats = seats; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public Integer getNumberOfPeople() { return numberOfPeople; }
+    public void setNumberOfPeople(Integer numberOfPeople) { this.numberOfPeople = numberOfPeople; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
@@ -0,0 +1,30 @@
+package com.ruhungry.dto;
+
+public class StockDelta {
+    private int id;
+    private String name;
+    private int delta;
+    private int stockLevel;
+
+    public StockDelta() {}
+
+    public StockDelta(int id, String name, int delta, int stockLevel) {
+        this.id = id;
+        this.name = name;
+        this.delta = delta;
+        this.stockLevel = stockLevel;
+    }
+
+    // Getters and setters
+    public int getId() { return id; }
+    public void setId(int id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public int getDelta() { return delta; }
+    public void setDelta(int delta) { this.delta = delta; }
+
+    public int getStockLevel() { return stockLevel; }
+    public void setStockLevel(int stockLevel) { this.stockLevel = stockLevel; }
+}
@@ -0,0 +1,25 @@
+package com.ruhungry.dto;
+
+public class TableDTO {
+    private int index;
+    private int seats;
+    private PartyRequest party;
+
+    public TableDTO() {}
+
+    public TableDTO(int index, int seats, PartyRequest party) {
+        this.index = index;
+        this.seats = seats;
+        this.party = party;
+    }
+
+    // Getters and setters
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+
+    public int getSeats() { return seats; }
+    public void setSeats(int seats) { this.seats = seats; }
+
+    public PartyRequest getParty() { return party; }
+    public void setParty(PartyRequest party) { this.party = party; }
+}
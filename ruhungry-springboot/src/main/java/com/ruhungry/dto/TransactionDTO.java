@@ -0,0 +1,35 @@
+package com.ruhungry.dto;
+
+public class TransactionDTO {
+    private String type;
+    private String item;
+    private int amount;
+    private double profit;
+    private boolean success;
+
+    public TransactionDTO() {}
+
+    public TransactionDTO(String type, String item, int amount, double profit, boolean success) {
+        this.type = type;
+        this.item = item;
+        this.amount = amount;
+        this.profit = profit;
+        this.success = success;
+    }
+
+    // Getters and setters
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public String getItem() { return item; }
+    public void setItem(String item) { this.item = item; }
+
+    public int getAmount() { return amount; }
+    public void setAmount(int amount) { this.amount = amount; }
+
+    public double getProfit() { return profit; }
+    public void setProfit(double profit) { this.profit = profit; }
+
+    public boolean isSuccess() { return success; }
+    public void setSuccess(boolean success) { this.success = success; }
+}
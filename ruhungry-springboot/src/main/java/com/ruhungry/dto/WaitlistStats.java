@@ -0,0 +1,35 @@
+package com.ruhungry.dto;
+
+public class WaitlistStats {
+    private long waiting;
+    private long checkedIn;
+    private long seated;
+    private double averageWaitMillis;
+    private double maxWaitMillis;
+
+    public WaitlistStats() {}
+
+    public WaitlistStats(long waiting, long checkedIn, long seated, double averageWaitMillis, double maxWaitMillis) {
+        this.waiting = waiting;
+        this.checkedIn = checkedIn;
+        this.seated = seated;
+        this.averageWaitMillis = averageWaitMillis;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    // Getters and setters
+    public long getWaiting() { return waiting; }
+    public void setWaiting(long waiting) { this.waiting = waiting; }
+
+    public long getCheckedIn() { return checkedIn; }
+    public void setCheckedIn(long checkedIn) { this.checkedIn = checkedIn; }
+
+    public long getSeated() { return seated; }
+    public void setSeated(long seated) { this.seated = seated; }
+
+    public double getAverageWaitMillis() { return averageWaitMillis; }
+    public void setAverageWaitMillis(double averageWaitMillis) { this.averageWaitMillis = averageWaitMillis; }
+
+    public double getMaxWaitMillis() { return maxWaitMillis; }
+    public void setMaxWaitMillis(double maxWaitMillis) { this.maxWaitMillis = maxWaitMillis; }
+}
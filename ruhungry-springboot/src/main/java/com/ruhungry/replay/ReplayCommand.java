@@ -0,0 +1,25 @@
+package com.ruhungry.replay;
+
+/**
+ * One line of a transaction, order, donate or restock file.
+ */
+public class ReplayCommand {
+
+    public enum Type { ORDER, DONATION, RESTOCK }
+
+    private final Type type;
+    private final int quantity;
+    private final String item;   // dish name for orders, ingredient name otherwise
+
+    public ReplayCommand(Type type, int quantity, String item) {
+        this.type = type;
+        this.quantity = quantity;
+        this.item = item;
+    }
+
+    public Type getType() { return type; }
+
+    public int getQuantity() { return quantity; }
+
+    public String getItem() { return item; }
+}
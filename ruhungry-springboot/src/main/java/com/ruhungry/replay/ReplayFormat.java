@@ -0,0 +1,44 @@
+package com.ruhungry.replay;
+
+import java.util.Locale;
+
+/**
+ * The input file formats of the original driver. Every file starts with the number of
+ * lines that follow.
+ */
+public enum ReplayFormat {
+    /** transaction*.in: "order|donation|restock quantity name" */
+    TRANSACTION(null),
+    /** order*.in: "quantity dishName" */
+    ORDER(ReplayCommand.Type.ORDER),
+    /** donate*.in: "quantity ingredientName" */
+    DONATION(ReplayCommand.Type.DONATION),
+    /** restock*.in: "quantity ingredientName" */
+    RESTOCK(ReplayCommand.Type.RESTOCK);
+
+    private final ReplayCommand.Type lineType; // type of every line, null if each line names it
+
+    ReplayFormat(ReplayCommand.Type lineType) {
+        this.lineType = lineType;
+    }
+
+    ReplayCommand.Type getLineType() {
+        return lineType;
+    }
+
+    /**
+     * Accepts "transaction", "order", "donate" or "donation", "restock", or a file name
+     * starting with one of them such as "order1.in".
+     *
+     * @throws IllegalArgumentException for anything else
+     */
+    public static ReplayFormat fromName(String name) {
+        String lower = name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+        if (lower.startsWith("transaction")) return TRANSACTION;
+        if (lower.startsWith("order")) return ORDER;
+        if (lower.startsWith("donat")) return DONATION;
+        if (lower.startsWith("restock")) return RESTOCK;
+        throw new IllegalArgumentException("Unknown replay format: " + name
+            + " (expected transaction, order, donate or restock)");
+    }
+}
@@ -0,0 +1,104 @@
+package com.ruhungry.replay;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Reads a replay file one command at a time, so files of any length can be replayed
+ * without loading them.
+ */
+public class ReplayParser {
+
+    private final BufferedReader reader;
+    private final ReplayFormat format;
+    private final long count;   // number of commands the header announced
+    private long read;
+    private long lineNumber;
+
+    /*
+     * Constructor, reads the header line
+     * @throws IllegalArgumentException if the header is not a number
+     */
+    public ReplayParser(InputStream in, ReplayFormat format) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        this.format = format;
+        String header = nextLine();
+        try {
+            count = header == null ? 0 : Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Line " + lineNumber + ": expected the number of lines but got: " + header);
+        }
+    }
+
+    /**
+     * @return the next command, or null after the number of lines in the header or at
+     *         the end of the input
+     * @throws IllegalArgumentException if a line is malformed or its quantity is not positive,
+     *         or if lines follow the number of lines in the header
+     */
+    public ReplayCommand next() throws IOException {
+        if (read >= count) {
+            String extra = nextLine();
+            if (extra != null) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": the header announced " + count
+                    + " lines but the file goes on: " + extra);
+            }
+            return null;
+        }
+        String line = nextLine();
+        if (line == null) return null;
+        read++;
+        line = line.trim();
+
+        ReplayCommand.Type type = format.getLineType();
+        if (type == null) {
+            int space = line.indexOf(' ');
+            if (space < 0) throw malformed(line);
+            type = typeOf(line.substring(0, space));
+            line = line.substring(space + 1).trim();
+        }
+        int space = line.indexOf(' ');
+        if (space < 0) throw malformed(line);
+        int quantity;
+        try {
+            quantity = Integer.parseInt(line.substring(0, space));
+        } catch (NumberFormatException e) {
+            throw malformed(line);
+        }
+        if (quantity < 1) throw malformed(line);
+        return new ReplayCommand(type, quantity, line.substring(space + 1).trim());
+    }
+
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    private ReplayCommand.Type typeOf(String word) {
+        switch (word.toLowerCase(Locale.ROOT)) {
+            case "order": return ReplayCommand.Type.ORDER;
+            case "donation": return ReplayCommand.Type.DONATION;
+            case "restock": return ReplayCommand.Type.RESTOCK;
+            default:
+                throw new IllegalArgumentException("Line " + lineNumber + ": unknown transaction type: " + word);
+        }
+    }
+
+    private IllegalArgumentException malformed(String line) {
+        String expected = format == ReplayFormat.TRANSACTION ? "\"type quantity name\"" : "\"quantity name\"";
+        return new IllegalArgumentException("Line " + lineNumber + ": expected " + expected
+            + " with a positive quantity but got: " + line);
+    }
+
+    private String nextLine() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (!line.isBlank()) return line;
+        }
+        return null;
+    }
+}
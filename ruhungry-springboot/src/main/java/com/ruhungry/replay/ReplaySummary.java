@@ -0,0 +1,81 @@
+package com.ruhungry.replay;
+
+import com.ruhungry.core.RUHungry;
+import com.ruhungry.core.TransactionData;
+
+/**
+ * Applies replay commands to a restaurant and counts how they turned out.
+ */
+public class ReplaySummary {
+    private long commands;
+    private long ordersServed;        // the dish ordered or another dish of its category
+    private long ordersSubstituted;   // served, but not the dish that was ordered
+    private long ordersFailed;
+    private long donationsMade;
+    private long donationsFailed;
+    private long restocksMade;
+    private long restocksFailed;
+    private long unknownItems;        // dish or ingredient not in the restaurant, skipped
+
+    public ReplaySummary() {}
+
+    /**
+     * Runs one command against the restaurant with order, donation or restock.
+     */
+    public void apply(ReplayCommand command, RUHungry restaurant) {
+        commands++;
+        String item = command.getItem();
+        switch (command.getType()) {
+            case ORDER:
+                if (restaurant.findDish(item) == null) {
+                    unknownItems++;
+                    return;
+                }
+                TransactionData served = restaurant.order(item, command.getQuantity());
+                if (served == null) {
+                    ordersFailed++;
+                } else {
+                    ordersServed++;
+                    if (!served.getItem().equalsIgnoreCase(item)) ordersSubstituted++;
+                }
+                break;
+            case DONATION:
+                if (restaurant.findStockNode(item) == null) {
+                    unknownItems++;
+                } else if (restaurant.donation(item, command.getQuantity())) {
+                    donationsMade++;
+                } else {
+                    donationsFailed++;
+                }
+                break;
+            case RESTOCK:
+                if (restaurant.findStockNode(item) == null) {
+                    unknownItems++;
+                } else if (restaurant.restock(item, command.getQuantity())) {
+                    restocksMade++;
+                } else {
+                    restocksFailed++;
+                }
+                break;
+        }
+    }
+
+    // Getters
+    public long getCommands() { return commands; }
+
+    public long getOrdersServed() { return ordersServed; }
+
+    public long getOrdersSubstituted() { return ordersSubstituted; }
+
+    public long getOrdersFailed() { return ordersFailed; }
+
+    public long getDonationsMade() { return donationsMade; }
+
+    public long getDonationsFailed() { return donationsFailed; }
+
+    public long getRestocksMade() { return restocksMade; }
+
+    public long getRestocksFailed() { return restocksFailed; }
+
+    public long getUnknownItems() { return unknownItems; }
+}
@@ -0,0 +1,193 @@
+package com.ruhungry.service;
+
+import com.ruhungry.core.Ingredient;
+import com.ruhungry.core.RestaurantListener;
+import com.ruhungry.core.TransactionData;
+import com.ruhungry.dto.ChangesResponse;
+import com.ruhungry.dto.DishDTO;
+import com.ruhungry.dto.StockResponse;
+import com.ruhungry.dto.TransactionDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Remembers the most recent engine changes in a fixed-size ring so clients can ask
+ * for everything that changed after the version they last saw.
+ *
+ * When the requested version is older than the oldest change still in the ring, or the
+ * whole stock table was reloaded since then, the response is only a full snapshot marker
+ * and the client reloads the menu and inventory.
+ *
+ * Each change is stored with the version the engine gave it. Changes made on different
+ * threads can be recorded out of version order, so the version handed to clients is the
+ * highest one up to which every change has been recorded; a change still on its way is
+ * never skipped by a client that asks again from that version.
+ */
+@Service
+public class ChangeJournal implements RestaurantListener {
+
+    private static final byte STOCK = 0;
+    private static final byte TRANSACTION = 1;
+    private static final byte TRANSACTIONS_CLEARED = 2;
+    private static final byte MENU = 3;
+    private static final byte STOCK_RELOAD = 4;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    private final long[] versions;
+    private final byte[] kinds;
+    private final Object[] subjects; // the Ingredient or TransactionData that changed
+    private int next;   // index the next change is written to
+    private int count;  // number of changes in the ring
+    private long recordedUpTo;  // every change up to this version is in the ring or was evicted
+    private long evictedUpTo;   // highest version overwritten in the ring, or where recording started
+    private final PriorityQueue<Long> recordedEarly = new PriorityQueue<>(); // versions above recordedUpTo + 1
+
+    public ChangeJournal(@Value("${ruhungry.changes.journal-size:10000}") int capacity) {
+        versions = new long[capacity];
+        kinds = new byte[capacity];
+        subjects = new Object[capacity];
+    }
+
+    @PostConstruct
+    public synchronized void start() {
+        // listen first, so every change after the version read here reaches record()
+        restaurantService.addListener(this);
+        recordedUpTo = restaurantService.getVersion();
+        evictedUpTo = recordedUpTo;
+    }
+
+    @PreDestroy
+    public void stop() {
+        restaurantService.removeListener(this);
+    }
+
+    @Override
+    public void stockChanged(Ingredient ingredient, int amountAdded, long version) {
+        record(STOCK, ingredient, version);
+    }
+
+    @Override
+    public void transactionAdded(TransactionData data, long version) {
+        record(TRANSACTION, data, version);
+    }
+
+    @Override
+    public void transactionsCleared(long version) {
+        record(TRANSACTIONS_CLEARED, null, version);
+    }
+
+    @Override
+    public void menuChanged(long version) {
+        record(MENU, null, version);
+    }
+
+    @Override
+    public void stockReloaded(long version) {
+        record(STOCK_RELOAD, null, version);
+    }
+
+    private synchronized void record(byte kind, Object subject, long version) {
+        if (version <= recordedUpTo) {
+            return; // made before recording started
+        }
+        if (count == versions.length) {
+            evictedUpTo = Math.max(evictedUpTo, versions[next]);
+        }
+        versions[next] = version;
+        kinds[next] = kind;
+        subjects[next] = subject;
+        next = (next + 1) % versions.length;
+        if (count < versions.length) count++;
+
+        if (version == recordedUpTo + 1) {
+            recordedUpTo = version;
+            while (!recordedEarly.isEmpty() && recordedEarly.peek() == recordedUpTo + 1) {
+                recordedUpTo = recordedEarly.poll();
+            }
+        } else {
+            recordedEarly.add(version);
+        }
+    }
+
+    /**
+     * Returns the ingredients, dishes and transactions changed after the given version.
+     * Ingredients and dishes carry their current values; transactions are in the order
+     * they were recorded.
+     *
+     * @param since the version the client last saw
+     */
+    public synchronized ChangesResponse changesSince(long since) {
+        long version = recordedUpTo;
+        int oldest = (next - count + versions.length) % versions.length;
+        if (since < evictedUpTo || since > version) {
+            return fullSnapshot(since, version);
+        }
+
+        Map<Integer, Ingredient> ingredients = new LinkedHashMap<>();
+        List<TransactionDTO> transactions = new ArrayList<>();
+        boolean transactionsCleared = false;
+        boolean menuChanged = false;
+
+        for (int i = 0; i < count; i++) {
+            int index = (oldest + i) % versions.length;
+            if (versions[index] <= since || versions[index] > version) {
+                continue;
+            }
+            switch (kinds[index]) {
+                case STOCK -> {
+                    Ingredient ingredient = (Ingredient) subjects[index];
+                    ingredients.put(ingredient.getID(), ingredient);
+                }
+                case TRANSACTION -> {
+                    TransactionData data = (TransactionData) subjects[index];
+                    transactions.add(new TransactionDTO(
+                        data.getType(),
+                        data.getItem(),
+                        data.getAmount(),
+                        data.getProfit(),
+                        data.getSuccess()
+                    ));
+                }
+                case TRANSACTIONS_CLEARED -> {
+                    transactionsCleared = true;
+                    transactions.clear();
+                }
+                case MENU -> menuChanged = true;
+                case STOCK_RELOAD -> {
+                    return fullSnapshot(since, version);
+                }
+                default -> throw new IllegalStateException("Unknown change kind " + kinds[index]);
+            }
+        }
+
+        List<StockResponse> stock = new ArrayList<>(ingredients.size());
+        for (Ingredient ing : ingredients.values()) {
+            stock.add(new StockResponse(
+                ing.getID(),
+                ing.getName(),
+                ing.getStockLevel(),
+                ing.getCost()
+            ));
+        }
+        List<DishDTO> dishes = menuChanged ? restaurantService.getAllDishes() : Collections.emptyList();
+
+        return new ChangesResponse(since, version, false, transactionsCleared, stock, dishes, transactions);
+    }
+
+    private ChangesResponse fullSnapshot(long since, long version) {
+        return new ChangesResponse(since, version, true, false,
+            Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
+    }
+}
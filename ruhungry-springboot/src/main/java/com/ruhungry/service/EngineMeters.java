@@ -0,0 +1,159 @@
+package com.ruhungry.service;
+
+import com.ruhungry.core.EngineMetrics;
+import com.ruhungry.core.RUHungry;
+import com.ruhungry.core.TransactionData;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.HdrHistogram.Recorder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Publishes the engine's operations to Micrometer:
+ * <ul>
+ *   <li>ruhungry.order, tagged outcome=as_requested, substituted or failed</li>
+ *   <li>ruhungry.donation and ruhungry.restock, tagged outcome=made or refused</li>
+ *   <li>ruhungry.stock.update</li>
+ *   <li>ruhungry.load, tagged what=stock, menu, tables or prices</li>
+ *   <li>ruhungry.stock.lookups (by=id or name), ruhungry.stock.probes and ruhungry.dish.lookups</li>
+ * </ul>
+ * An operation only adds to LongAdders; Micrometer reads them when metrics are scraped,
+ * so the hot path never touches a meter. Counts are exact. The engine times one operation
+ * in RUHungry.TIMED_EVERY; a timed operation adds its own time to the total and an untimed
+ * one adds the mean of the timed operations so far, so the total only ever grows.
+ * The timed operations also go to LatencyRecorders, as "order", "donation", "restock",
+ * "stock.update" and "load", for their percentiles.
+ */
+@Component
+public class EngineMeters implements EngineMetrics {
+
+    private final MeterRegistry registry;
+    private final LatencyRecorders latencyRecorders;
+
+    private final Op orderAsRequested;
+    private final Op orderSubstituted;
+    private final Op orderFailed;
+    private final Op donationMade;
+    private final Op donationRefused;
+    private final Op restockMade;
+    private final Op restockRefused;
+    private final Op stockUpdate;
+    private final Op loadStock;
+    private final Op loadMenu;
+    private final Op loadTables;
+    private final Op loadPrices;
+
+    public EngineMeters(MeterRegistry registry, LatencyRecorders latencyRecorders) {
+        this.registry = registry;
+        this.latencyRecorders = latencyRecorders;
+        orderAsRequested = timer("ruhungry.order", "outcome", "as_requested", "Orders served with the dish ordered");
+        orderSubstituted = timer("ruhungry.order", "outcome", "substituted", "Orders served with another dish of the category");
+        orderFailed = timer("ruhungry.order", "outcome", "failed", "Orders nothing could be served for");
+        donationMade = timer("ruhungry.donation", "outcome", "made", "Donations made");
+        donationRefused = timer("ruhungry.donation", "outcome", "refused", "Donations refused for low profit or stock");
+        restockMade = timer("ruhungry.restock", "outcome", "made", "Restocks paid for");
+        restockRefused = timer("ruhungry.restock", "outcome", "refused", "Restocks the profit could not pay for");
+        stockUpdate = timer("ruhungry.stock.update", null, null, "Direct stock updates");
+        loadStock = timer("ruhungry.load", "what", "stock", "Stock file loads");
+        loadMenu = timer("ruhungry.load", "what", "menu", "Menu file loads");
+        loadTables = timer("ruhungry.load", "what", "tables", "Tables file loads");
+        loadPrices = timer("ruhungry.load", "what", "prices", "Price and profit recomputations");
+    }
+
+    /**
+     * Measures the restaurant from now on and publishes its lookup counters.
+     */
+    public void bind(RUHungry restaurant) {
+        restaurant.setMetrics(this);
+        FunctionCounter.builder("ruhungry.stock.lookups", restaurant, RUHungry::getStockIdLookups)
+            .tag("by", "id").description("Stock lookups by ingredient ID").register(registry);
+        FunctionCounter.builder("ruhungry.stock.lookups", restaurant, RUHungry::getStockNameLookups)
+            .tag("by", "name").description("Stock lookups by ingredient name").register(registry);
+        FunctionCounter.builder("ruhungry.stock.probes", restaurant, RUHungry::getStockIdProbes)
+            .description("Stock chain nodes visited by lookups by ID").register(registry);
+        FunctionCounter.builder("ruhungry.dish.lookups", restaurant, RUHungry::getDishLookups)
+            .description("Dish lookups by name").register(registry);
+    }
+
+    @Override
+    public void orderCompleted(String dishName, TransactionData served, long nanos) {
+        if (served == null) {
+            orderFailed.record(nanos);
+        } else if (served.getItem().equalsIgnoreCase(dishName)) {
+            orderAsRequested.record(nanos);
+        } else {
+            orderSubstituted.record(nanos);
+        }
+    }
+
+    @Override
+    public void donationCompleted(boolean made, long nanos) {
+        (made ? donationMade : donationRefused).record(nanos);
+    }
+
+    @Override
+    public void restockCompleted(boolean made, long nanos) {
+        (made ? restockMade : restockRefused).record(nanos);
+    }
+
+    @Override
+    public void stockUpdated(long nanos) {
+        stockUpdate.record(nanos);
+    }
+
+    @Override
+    public void loaded(String what, long nanos) {
+        switch (what) {
+            case "stock" -> loadStock.record(nanos);
+            case "menu" -> loadMenu.record(nanos);
+            case "tables" -> loadTables.record(nanos);
+            default -> loadPrices.record(nanos);
+        }
+    }
+
+    private Op timer(String name, String tagKey, String tagValue, String description) {
+        Op op = new Op(latencyRecorders.engine(name.substring("ruhungry.".length())));
+        FunctionTimer.Builder<Op> builder = FunctionTimer.builder(name, op,
+                o -> o.count.sum(), Op::totalNanos, TimeUnit.NANOSECONDS)
+            .description(description);
+        if (tagKey != null) builder.tag(tagKey, tagValue);
+        builder.register(registry);
+        return op;
+    }
+
+    private static final class Op {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder timed = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder estimatedNanos = new LongAdder();
+        private final Recorder latency;
+        // mean of the timed operations, refreshed by each timed operation
+        private volatile long meanNanos;
+
+        private Op(Recorder latency) {
+            this.latency = latency;
+        }
+
+        // elapsed is -1 when the operation was not timed
+        private void record(long elapsed) {
+            count.increment();
+            if (elapsed >= 0) {
+                timed.increment();
+                nanos.add(elapsed);
+                meanNanos = nanos.sum() / timed.sum();
+                estimatedNanos.add(elapsed);
+                latency.recordValue(elapsed);
+            } else {
+                estimatedNanos.add(meanNanos);
+            }
+        }
+
+        private double totalNanos() {
+            return estimatedNanos.sum();
+        }
+    }
+}
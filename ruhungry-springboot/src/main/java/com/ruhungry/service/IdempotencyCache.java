@@ -0,0 +1,194 @@
+package com.ruhungry.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the result of recent write requests by their Idempotency-Key so that
+ * a retried submission returns the original result instead of being applied twice.
+ *
+ * Lookups are a single ConcurrentHashMap read. Each entry keeps a SHA-256 fingerprint of
+ * the request it was first sent with, and a key reused for a different request is refused.
+ * Completed entries are evicted oldest-first once they are older than the configured TTL or
+ * the cache holds more than maxEntries keys; an entry whose request is still running is never
+ * evicted, so a retry cannot run the write a second time.
+ */
+@Component
+public class IdempotencyCache {
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    public IdempotencyCache(
+            @Value("${ruhungry.idempotency.max-entries:10000}") int maxEntries,
+            @Value("${ruhungry.idempotency.ttl:10m}") Duration ttl) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Runs the action once per key and returns its result, for a request that is known
+     * up front (path, parameters and body rendered as one string).
+     *
+     * @see #execute(String, String, Supplier, Supplier)
+     */
+    public <T> T execute(String scope, String idempotencyKey, String request, Supplier<T> action) {
+        return execute(scope, idempotencyKey, () -> fingerprint(request), action);
+    }
+
+    /**
+     * Runs the action once per key and returns its result. Concurrent or later calls
+     * with the same key (within the TTL) wait for and return the first call's result,
+     * provided their request has the same fingerprint. A missing key always runs the action.
+     *
+     * The fingerprint is taken after the action has run (on the first call) or after the
+     * first call has finished (on a retry), so a streamed body can be hashed while it is read.
+     *
+     * @param scope the operation the key belongs to, so keys are not shared across endpoints
+     * @param idempotencyKey the client supplied key, may be null
+     * @param fingerprint the SHA-256 digest of this call's request
+     * @param action the write to perform
+     * @return the result of the first call made with this key
+     * @throws InvalidIdempotencyKeyException if the key is longer than {@value #MAX_KEY_LENGTH} characters
+     * @throws IdempotencyKeyMismatchException if the key was first used for a different request
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String scope, String idempotencyKey, Supplier<byte[]> fingerprint, Supplier<T> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException("Idempotency-Key is longer than " + MAX_KEY_LENGTH + " characters");
+        }
+        String key = scope + ':' + idempotencyKey;
+
+        long now = System.nanoTime();
+        Entry existing = entries.get(key);
+        if (existing != null && !existing.isExpired(now, ttlNanos)) {
+            return (T) existing.replay(idempotencyKey, fingerprint);
+        }
+
+        Entry fresh = new Entry(key, now);
+        Entry winner = entries.compute(key,
+            (k, current) -> current == null || current.isExpired(now, ttlNanos) ? fresh : current);
+        if (winner != fresh) {
+            return (T) winner.replay(idempotencyKey, fingerprint);
+        }
+
+        insertionOrder.add(fresh);
+        size.incrementAndGet();
+        evict(now);
+
+        T result;
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            // Let the client retry a request that failed instead of replaying the failure
+            entries.remove(key, fresh);
+            fresh.result.completeExceptionally(e);
+            throw e;
+        }
+        try {
+            fresh.fingerprint = fingerprint.get();
+        } catch (RuntimeException e) {
+            // the write is done; with no fingerprint every retry of this key is refused
+        }
+        fresh.result.complete(result);
+        return result;
+    }
+
+    /**
+     * The SHA-256 digest of a request rendered as a string.
+     */
+    public static byte[] fingerprint(String request) {
+        return sha256().digest(request.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    private void evict(long now) {
+        Iterator<Entry> oldestFirst = insertionOrder.iterator();
+        while (oldestFirst.hasNext()) {
+            Entry entry = oldestFirst.next();
+            if (size.get() <= maxEntries && !entry.isExpired(now, ttlNanos)) {
+                break;
+            }
+            if (!entry.result.isDone()) {
+                continue;
+            }
+            // remove(Object) succeeds for one thread only, so size is decremented once per entry
+            if (insertionOrder.remove(entry)) {
+                size.decrementAndGet();
+                entries.remove(entry.key, entry);
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final String key;
+        private final long createdAt;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        // written before result completes, read only after it has
+        private volatile byte[] fingerprint;
+
+        private Entry(String key, long createdAt) {
+            this.key = key;
+            this.createdAt = createdAt;
+        }
+
+        // an entry still running never expires, or a retry would run the write again
+        private boolean isExpired(long now, long ttlNanos) {
+            return result.isDone() && now - createdAt > ttlNanos;
+        }
+
+        private Object replay(String idempotencyKey, Supplier<byte[]> request) {
+            Object original = await();
+            if (!MessageDigest.isEqual(fingerprint, request.get())) {
+                throw new IdempotencyKeyMismatchException(idempotencyKey);
+            }
+            return original;
+        }
+
+        private Object await() {
+            try {
+                return result.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for original request", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException re) {
+                    throw re;
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+}
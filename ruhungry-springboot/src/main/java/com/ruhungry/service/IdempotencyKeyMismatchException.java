@@ -0,0 +1,12 @@
+package com.ruhungry.service;
+
+/**
+ * Thrown when an Idempotency-Key is reused for a request that differs from the one
+ * the key was first sent with. Controllers answer it with 422 Unprocessable Entity.
+ */
+public class IdempotencyKeyMismatchException extends RuntimeException {
+
+    public IdempotencyKeyMismatchException(String idempotencyKey) {
+        super("Idempotency-Key " + idempotencyKey + " was already used for a different request");
+    }
+}
@@ -0,0 +1,12 @@
+package com.ruhungry.service;
+
+/**
+ * Thrown when an Idempotency-Key header cannot be used as a key, such as one longer than
+ * {@value IdempotencyCache#MAX_KEY_LENGTH} characters. Controllers answer it with 400 Bad Request.
+ */
+public class InvalidIdempotencyKeyException extends RuntimeException {
+
+    public InvalidIdempotencyKeyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,75 @@
+package com.ruhungry.service;
+
+import com.ruhungry.dto.LatencyReport;
+import com.ruhungry.dto.LatencySnapshot;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * HdrHistogram recorders for the latency of each endpoint and each engine operation.
+ *
+ * Recording is a wait-free write into the recorder's active histogram. A snapshot swaps
+ * every recorder's histograms and reports what was recorded since the previous snapshot,
+ * so each snapshot covers one interval: poll it every minute to see the lunch peak's p99
+ * rather than the day's.
+ */
+@Component
+public class LatencyRecorders {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<String, Interval> endpoints = new ConcurrentHashMap<>();
+    private final Map<String, Interval> engine = new ConcurrentHashMap<>();
+    private long lastSnapshot = System.nanoTime();
+
+    /**
+     * Returns the recorder of an endpoint, e.g. "POST /api/orders", creating it on first use.
+     */
+    public Recorder endpoint(String name) {
+        return endpoints.computeIfAbsent(name, n -> new Interval()).recorder;
+    }
+
+    /**
+     * Returns the recorder of an engine operation, e.g. "order", creating it on first use.
+     */
+    public Recorder engine(String name) {
+        return engine.computeIfAbsent(name, n -> new Interval()).recorder;
+    }
+
+    /**
+     * Reports every recorder's latency since the previous snapshot and starts a new interval.
+     */
+    public synchronized LatencyReport snapshot() {
+        long now = System.nanoTime();
+        LatencyReport report = new LatencyReport((now - lastSnapshot) / 1_000_000, snapshot(endpoints), snapshot(engine));
+        lastSnapshot = now;
+        return report;
+    }
+
+    private static Map<String, LatencySnapshot> snapshot(Map<String, Interval> intervals) {
+        Map<String, LatencySnapshot> snapshots = new TreeMap<>();
+        intervals.forEach((name, interval) -> snapshots.put(name, interval.next()));
+        return snapshots;
+    }
+
+    // a recorder and the histogram it hands back, reused for the next interval
+    private static final class Interval {
+        private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+        private Histogram recycled;
+
+        private LatencySnapshot next() {
+            Histogram h = recorder.getIntervalHistogram(recycled);
+            recycled = h;
+            // recorded in nanoseconds, reported in microseconds
+            return new LatencySnapshot(h.getTotalCount(), h.getMean() / 1000,
+                h.getValueAtPercentile(50) / 1000.0, h.getValueAtPercentile(90) / 1000.0,
+                h.getValueAtPercentile(99) / 1000.0, h.getValueAtPercentile(99.9) / 1000.0,
+                h.getMaxValue() / 1000.0);
+        }
+    }
+}
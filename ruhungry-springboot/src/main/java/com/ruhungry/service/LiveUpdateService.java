@@ -0,0 +1,227 @@
+package com.ruhungry.service;
+
+import com.ruhungry.core.Ingredient;
+import com.ruhungry.core.RestaurantListener;
+import com.ruhungry.core.TransactionData;
+import com.ruhungry.dto.StockDelta;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes profit and stock changes to dashboards over Server-Sent Events.
+ *
+ * Engine callbacks only merge the change into a map keyed by ingredient ID. A single
+ * scheduler thread drains that map every tick, merges it into each subscriber's own
+ * pending changes, and sends them once the subscriber's minimum interval has passed.
+ * Many orders between two sends therefore arrive as one delta per ingredient.
+ */
+@Service
+public class LiveUpdateService implements RestaurantListener {
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Value("${ruhungry.events.tick:250ms}")
+    private Duration tick;
+
+    @Value("${ruhungry.events.heartbeat:15s}")
+    private Duration heartbeat;
+
+    @Value("${ruhungry.events.timeout:30m}")
+    private Duration emitterTimeout;
+
+    // Changes made by the engine since the last tick
+    private final ConcurrentHashMap<Integer, StockDelta> pendingStock = new ConcurrentHashMap<>();
+    private final AtomicBoolean profitChanged = new AtomicBoolean();
+    private final AtomicBoolean stockReloaded = new AtomicBoolean();
+
+    private final CopyOnWriteArrayList<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "live-updates");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long tickMillis = tick.toMillis();
+        scheduler.scheduleAtFixedRate(this::flush, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        restaurantService.addListener(this);
+    }
+
+    @PreDestroy
+    public void stop() {
+        restaurantService.removeListener(this);
+        scheduler.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+    }
+
+    /**
+     * Opens a new event stream. The current profit is sent right away, after that
+     * changes are sent at most once per minInterval.
+     *
+     * @param minInterval the shortest time between two sends to this subscriber
+     */
+    public SseEmitter subscribe(Duration minInterval) {
+        long intervalNanos = Math.max(minInterval.toNanos(), tick.toNanos());
+        Subscriber subscriber = new Subscriber(new SseEmitter(emitterTimeout.toMillis()), intervalNanos);
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onTimeout(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        try {
+            subscriber.emitter.send(SseEmitter.event().name("profit").data(restaurantService.getCurrentProfit()));
+        } catch (IOException e) {
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+        }
+        return subscriber.emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void stockChanged(Ingredient ingredient, int amountAdded, long version) {
+        pendingStock.compute(ingredient.getID(), (id, delta) -> {
+            if (delta == null) {
+                return new StockDelta(id, ingredient.getName(), amountAdded, ingredient.getStockLevel());
+            }
+            delta.setDelta(delta.getDelta() + amountAdded);
+            delta.setStockLevel(ingredient.getStockLevel());
+            return delta;
+        });
+    }
+
+    @Override
+    public void transactionAdded(TransactionData data, long version) {
+        if (data.getProfit() != 0) {
+            profitChanged.set(true);
+        }
+    }
+
+    @Override
+    public void stockReloaded(long version) {
+        stockReloaded.set(true);
+    }
+
+    @Override
+    public void transactionsCleared(long version) {
+        profitChanged.set(true);
+    }
+
+    private void flush() {
+        List<StockDelta> changes = new ArrayList<>();
+        for (Integer id : pendingStock.keySet()) {
+            StockDelta delta = pendingStock.remove(id);
+            if (delta != null) {
+                changes.add(delta);
+            }
+        }
+        boolean profit = profitChanged.getAndSet(false);
+        boolean reload = stockReloaded.getAndSet(false);
+
+        long now = System.nanoTime();
+        double currentProfit = restaurantService.getCurrentProfit();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.merge(changes, profit, reload);
+            try {
+                subscriber.sendIfDue(now, currentProfit, heartbeat.toNanos());
+            } catch (IOException | IllegalStateException e) {
+                subscribers.remove(subscriber);
+                subscriber.emitter.completeWithError(e);
+            }
+        }
+    }
+
+    // Pending changes for one open stream, only touched by the scheduler thread
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final long intervalNanos;
+        private final Map<Integer, StockDelta> stock = new LinkedHashMap<>();
+        private boolean profit;
+        private boolean reload;
+        private long lastSent;
+
+        private Subscriber(SseEmitter emitter, long intervalNanos) {
+            this.emitter = emitter;
+            this.intervalNanos = intervalNanos;
+            this.lastSent = System.nanoTime();
+        }
+
+        private void merge(List<StockDelta> changes, boolean profitChanged, boolean stockReloaded) {
+            if (stockReloaded) {
+                // Every level changed; the client reloads instead of applying deltas
+                reload = true;
+                stock.clear();
+            }
+            if (!reload) {
+                for (StockDelta change : changes) {
+                    StockDelta merged = stock.get(change.getId());
+                    if (merged == null) {
+                        stock.put(change.getId(), new StockDelta(
+                            change.getId(), change.getName(), change.getDelta(), change.getStockLevel()));
+                    } else {
+                        merged.setDelta(merged.getDelta() + change.getDelta());
+                        merged.setStockLevel(change.getStockLevel());
+                    }
+                }
+            }
+            profit |= profitChanged;
+        }
+
+        private void sendIfDue(long now, double currentProfit, long heartbeatNanos) throws IOException {
+            if (now - lastSent < intervalNanos) {
+                return;
+            }
+            boolean sent = false;
+            if (reload) {
+                emitter.send(SseEmitter.event().name("reload").data("stock"));
+                reload = false;
+                sent = true;
+            } else if (!stock.isEmpty()) {
+                emitter.send(SseEmitter.event().name("stock")
+                    .data(new ArrayList<>(stock.values()), MediaType.APPLICATION_JSON));
+                stock.clear();
+                sent = true;
+            }
+            if (profit) {
+                emitter.send(SseEmitter.event().name("profit").data(currentProfit));
+                profit = false;
+                sent = true;
+            }
+            if (!sent && now - lastSent >= heartbeatNanos) {
+                // Keeps proxies from closing an idle stream and detects clients that went away
+                emitter.send(SseEmitter.event().comment("keep-alive"));
+                sent = true;
+            }
+            if (sent) {
+                lastSent = now;
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.ruhungry.service;
+
+import com.ruhungry.dto.ReplayReport;
+import com.ruhungry.replay.ReplayCommand;
+import com.ruhungry.replay.ReplayFormat;
+import com.ruhungry.replay.ReplayParser;
+import com.ruhungry.replay.ReplaySummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Bulk-loads transaction, order, donate and restock files into the live restaurant.
+ * The upload is parsed while it streams in, and the parsed commands are applied in
+ * batches, so a file of any size needs memory for one batch only.
+ *
+ * A batch is a unit of buffering, not of isolation: like every other RestaurantService
+ * write it takes no lock, so orders and restocks from other requests can land between
+ * (and within) batches, and a replay that stops early leaves its applied lines in place.
+ */
+@Service
+public class ReplayService {
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Value("${ruhungry.replay.batch-size:4096}")
+    private int batchSize;
+
+    /**
+     * Applies every line of the file. A malformed line stops the replay; the lines before
+     * it stay applied and the report says where it stopped.
+     */
+    public ReplayReport replay(InputStream in, ReplayFormat format) throws IOException {
+        long started = System.nanoTime();
+        ReplaySummary summary = new ReplaySummary();
+        ReplayCommand[] batch = new ReplayCommand[batchSize];
+        String error = null;
+
+        ReplayParser parser = null;
+        int size = 0;
+        try {
+            parser = new ReplayParser(in, format);
+            ReplayCommand command;
+            while ((command = parser.next()) != null) {
+                batch[size++] = command;
+                if (size == batch.length) {
+                    restaurantService.applyReplayBatch(batch, size, summary);
+                    size = 0;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            error = e.getMessage();
+        }
+        restaurantService.applyReplayBatch(batch, size, summary);
+
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        return new ReplayReport(summary, restaurantService.getCurrentProfit(), elapsedMillis, error);
+    }
+}
@@ -0,0 +1,141 @@
+package com.ruhungry.service;
+
+import com.ruhungry.core.Reservation;
+import com.ruhungry.core.ReservationBook;
+import com.ruhungry.dto.ReservationDTO;
+import com.ruhungry.dto.ReservationRequest;
+import com.ruhungry.dto.TableDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time-slotted table reservations on top of the restaurant's tables.
+ *
+ * A scheduler thread hands reservations to the seating service as they start: the booked
+ * table is held for the reservation until it ends, and the party sits there at the next
+ * seatWaitlist. Bookings are forgotten once they have ended.
+ */
+@Service
+public class ReservationService {
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private SeatingService seatingService;
+
+    @Value("${ruhungry.reservations.poll-interval:30s}")
+    private Duration pollInterval;
+
+    private ReservationBook book;
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void start() {
+        book = new ReservationBook(restaurantService.getTableSeats());
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "reservations");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long pollMillis = pollInterval.toMillis();
+        scheduler.scheduleAtFixedRate(this::releaseDue, pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Books the requested table, or the lowest index table that fits when none is given.
+     *
+     * @return the reservation, or null if no table is free for the interval
+     * @throws IllegalArgumentException if the request is invalid
+     */
+    public synchronized ReservationDTO book(ReservationRequest request) {
+        if (request.getStart() == null || request.getEnd() == null) {
+            throw new IllegalArgumentException("start and end are required");
+        }
+        long start = request.getStart().toEpochMilli();
+        long end = request.getEnd().toEpochMilli();
+        Reservation reservation = request.getTable() == null
+            ? book.book(request.getName(), request.getNumberOfPeople(), start, end)
+            : book.book(request.getName(), request.getNumberOfPeople(), request.getTable(), start, end);
+        return reservation == null ? null : toDTO(reservation);
+    }
+
+    /**
+     * @return the lowest index table with enough seats that is free for [start, end), or null
+     * @throws IllegalArgumentException if the party or time interval is invalid
+     */
+    public synchronized TableDTO findTable(int numberOfPeople, Instant start, Instant end) {
+        int table = book.findTable(numberOfPeople, start.toEpochMilli(), end.toEpochMilli());
+        return table < 0 ? null : new TableDTO(table, restaurantService.getTableSeats()[table], null);
+    }
+
+    public synchronized ReservationDTO getReservation(long id) {
+        Reservation reservation = book.getReservation(id);
+        return reservation == null ? null : toDTO(reservation);
+    }
+
+    /**
+     * @param table the table to list, or null for every table
+     * @return bookings overlapping [from, to), by table then start time
+     */
+    public synchronized List<ReservationDTO> getReservations(Integer table, Instant from, Instant to) {
+        if (table != null && (table < 0 || table >= book.getNumberOfTables())) {
+            throw new IllegalArgumentException("Table " + table + " does not exist");
+        }
+        List<ReservationDTO> reservations = new ArrayList<>();
+        int first = table == null ? 0 : table;
+        int last = table == null ? book.getNumberOfTables() - 1 : table;
+        for (int t = first; t <= last; t++) {
+            for (Reservation reservation : book.getReservations(t, from.toEpochMilli(), to.toEpochMilli())) {
+                reservations.add(toDTO(reservation));
+            }
+        }
+        return reservations;
+    }
+
+    public synchronized boolean cancel(long id) {
+        if (book.cancel(id) == null) return false;
+        seatingService.reservationCancelled(id);
+        return true;
+    }
+
+    /**
+     * Holds the tables of reservations that have started and drops ended ones. Runs under the
+     * same lock as cancel, so a booking cancelled as it starts is either never held or released.
+     */
+    public synchronized void releaseDue() {
+        long now = System.currentTimeMillis();
+        List<Reservation> due = book.pollDue(now);
+        book.removeEndedBefore(now);
+        for (Reservation reservation : due) {
+            seatingService.reservationStarted(reservation);
+        }
+    }
+
+    private static ReservationDTO toDTO(Reservation reservation) {
+        return new ReservationDTO(
+            reservation.getId(),
+            reservation.getName(),
+            reservation.getNumberOfPeople(),
+            reservation.getTable(),
+            Instant.ofEpochMilli(reservation.getStart()),
+            Instant.ofEpochMilli(reservation.getEnd())
+        );
+    }
+}
@@ -1,34 +1,85 @@
 package com.ruhungry.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ruhungry.core.*;
 import com.ruhungry.dto.*;
-import org.springframework.core.io.ClassPathResource;
+import com.ruhungry.replay.ReplayCommand;
+import com.ruhungry.replay.ReplaySummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ResourceLoader;
 import org.springframework.stereotype.Service;
 import jakarta.annotation.PostConstruct;
 import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
 
 @Service
 public class RestaurantService {
     
+    private static final byte[] EMPTY_JSON_ARRAY = "[]".getBytes();
+
     private RUHungry restaurant;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ResourceLoader resourceLoader;
+
+    @Autowired
+    private EngineMeters engineMeters;
+
+    // Where the stock, menu and tables files are loaded from, e.g. file:target/data/ for generated data
+    @Value("${ruhungry.data.location:classpath:data/}")
+    private String dataLocation;
+
+    @Value("${ruhungry.data.stock:stock.in}")
+    private String stockFile;
+
+    @Value("${ruhungry.data.menu:menu.in}")
+    private String menuFile;
+
+    @Value("${ruhungry.data.tables:tables1.in}")
+    private String tablesFile;
+
+    // Stock lookups by ID that walk more chain nodes than this emit a com.ruhungry.SlowLookup JFR event
+    @Value("${ruhungry.jfr.slow-lookup-probes:32}")
+    private int slowLookupProbes;
+
+    // Serialized menu for the current menu version, rebuilt lazily after prices change
+    private volatile MenuSnapshot menuSnapshot;
+
     @PostConstruct
     public void initialize() throws IOException {
         restaurant = new RUHungry();
+        engineMeters.bind(restaurant);
+        restaurant.setSlowLookupProbes(slowLookupProbes);
+
         
-        // Load data from resources folder
-        ClassPathResource stockResource = new ClassPathResource("data/stock.in");
-        ClassPathResource menuResource = new ClassPathResource("data/menu.in");
-        ClassPathResource tablesResource = new ClassPathResource("data/tables1.in");
-        
-        restaurant.createStockHashTable(stockResource.getInputStream());
-        restaurant.menu(menuResource.getInputStream());
-        restaurant.createTables(tablesResource.getInputStream());
+        // Load data from the resources folder, or from ruhungry.data.location
+        restaurant.createStockHashTable(data(stockFile));
+        restaurant.menu(data(menuFile));
+        restaurant.createTables(data(tablesFile));
         restaurant.updatePriceAndProfit();
     }
 
+    private InputStream data(String file) throws IOException {
+        return resourceLoader.getResource(dataLocation + file).getInputStream();
+    }
+
     public List<DishDTO> getAllDishes() {
         List<DishDTO> dishes = new ArrayList<>();
         MenuNode[] menu = restaurant.getMenu();
@@ -77,6 +128,57 @@ public class RestaurantService {
         return dishes;
     }
 
+    public long getMenuVersion() {
+        return restaurant.getMenuVersion();
+    }
+
+    public long getVersion() {
+        return restaurant.getVersion();
+    }
+
+    /**
+     * Returns the menu serialized as JSON, whole and per category, with its ETag. Cached until
+     * the menu version changes; take the ETag and the body from the same snapshot.
+     */
+    public MenuSnapshot getMenuSnapshot() {
+        long version = restaurant.getMenuVersion();
+        MenuSnapshot snapshot = menuSnapshot;
+        if (snapshot != null && snapshot.version == version) {
+            return snapshot;
+        }
+
+        Map<String, byte[]> byCategory = new HashMap<>();
+        String[] categories = restaurant.getCategoryArray();
+        if (categories != null) {
+            for (String category : categories) {
+                byCategory.putIfAbsent(category.toLowerCase(Locale.ROOT), toJson(getDishesByCategory(category)));
+            }
+        }
+        byte[] allDishes = toJson(getAllDishes());
+        snapshot = new MenuSnapshot(version, menuETag(allDishes), allDishes, byCategory);
+        menuSnapshot = snapshot;
+        return snapshot;
+    }
+
+    // A hash of the serialized menu, so the ETag stays valid across restarts and never
+    // names a menu other than the body it is sent with
+    private static String menuETag(byte[] allDishes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(allDishes);
+            return "\"menu-" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private byte[] toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize menu", e);
+        }
+    }
+
     public String[] getCategories() {
         return restaurant.getCategoryArray();
     }
@@ -123,6 +225,81 @@ public class RestaurantService {
         return restaurant.profit();
     }
 
+    public int[] getTableSeats() {
+        return restaurant.getTableSeats();
+    }
+
+    public List<TableDTO> getTables() {
+        List<TableDTO> tableList = new ArrayList<>();
+        int[] seats = restaurant.getTableSeats();
+        Party[] tables = restaurant.getTables();
+        if (seats == null) return tableList;
+
+        for (int i = 0; i < seats.length; i++) {
+            Party party = tables == null ? null : tables[i];
+            tableList.add(new TableDTO(
+                i,
+                seats[i],
+                party == null ? null : new PartyRequest(party.getName(), party.getNumberOfPeople())
+            ));
+        }
+        return tableList;
+    }
+
+    public Queue<Party> getLeftQueue() {
+        return restaurant.getLeftQueueVar();
+    }
+
+    /**
+     * Seats parties as the iterator yields them and returns leftQueueVar. See RUHungry.seatAllGuests.
+     */
+    public Queue<Party> seatAllGuests(Iterator<Party> waiting, boolean combineTables) {
+        restaurant.seatAllGuests(waiting, combineTables, new int[0], new Queue<Party>());
+        return restaurant.getLeftQueueVar();
+    }
+
+    /**
+     * Seats the waiting queue with heldTables kept for reservations, and the reserved parties
+     * at their tables first. See RUHungry.seatAllGuests.
+     */
+    public Queue<Party> seatAllGuests(Queue<Party> waitingQueue, boolean combineTables, int[] heldTables,
+                                      Queue<Party> reservedParties) {
+        restaurant.seatAllGuests(waitingQueue, combineTables, heldTables, reservedParties);
+        return restaurant.getLeftQueueVar();
+    }
+
+    /**
+     * Applies a batch of parsed replay commands to the restaurant, counting the outcomes.
+     * The commands are applied one by one without a lock, so the batch is not atomic.
+     */
+    public void applyReplayBatch(ReplayCommand[] batch, int size, ReplaySummary summary) {
+        for (int i = 0; i < size; i++) {
+            summary.apply(batch[i], restaurant);
+        }
+    }
+
+    /**
+     * @return an independent copy of the restaurant for what-if runs
+     */
+    public RUHungry copyRestaurant() {
+        return restaurant.copy();
+    }
+
+    /**
+     * @return an O(1) copy-on-write fork of the restaurant for previews; release() it when done
+     */
+    public RUHungry forkRestaurant() {
+        return restaurant.fork();
+    }
+
+    public void addListener(RestaurantListener listener) {
+        restaurant.addListener(listener);
+    }
+
+    public void removeListener(RestaurantListener listener) {
+        restaurant.removeListener(listener);
+    }
+
     public List<String> getAllIngredients() {
         List<String> ingredients = new ArrayList<>();
         StockNode[] stock = restaurant.getStockVar();
@@ -139,6 +316,63 @@ public class RestaurantService {
         return ingredients;
     }
 
+    /**
+     * Returns the stock of every ingredient in a single pass over the stock hashtable.
+     *
+     * @param filter null for everything, "low" for stock below lowThreshold (including
+     *               out of stock) or "out" for stock at or below zero
+     * @param sort null to keep hashtable order, "asc" or "desc" to order by stock level
+     * @param lowThreshold stock level below which an ingredient counts as low
+     */
+    public List<StockResponse> getAllStock(String filter, String sort, int lowThreshold) {
+        int maxLevel;
+        if (filter == null || filter.isBlank()) {
+            maxLevel = Integer.MAX_VALUE;
+        } else if (filter.equalsIgnoreCase("low")) {
+            maxLevel = lowThreshold - 1;
+        } else if (filter.equalsIgnoreCase("out")) {
+            maxLevel = 0;
+        } else {
+            throw new IllegalArgumentException("Unknown filter: " + filter);
+        }
+
+        Comparator<StockResponse> order = null;
+        if (sort != null && !sort.isBlank()) {
+            if (sort.equalsIgnoreCase("asc")) {
+                order = Comparator.comparingInt(StockResponse::getStockLevel);
+            } else if (sort.equalsIgnoreCase("desc")) {
+                order = Comparator.comparingInt(StockResponse::getStockLevel).reversed();
+            } else {
+                throw new IllegalArgumentException("Unknown sort: " + sort);
+            }
+        }
+
+        List<StockResponse> stockList = new ArrayList<>();
+        StockNode[] stock = restaurant.getStockVar();
+        if (stock == null) return stockList;
+
+        for (int i = 0; i < stock.length; i++) {
+            StockNode node = stock[i];
+            while (node != null) {
+                Ingredient ing = node.getIngredient();
+                if (ing.getStockLevel() <= maxLevel) {
+                    stockList.add(new StockResponse(
+                        ing.getID(),
+                        ing.getName(),
+                        ing.getStockLevel(),
+                        ing.getCost()
+                    ));
+                }
+                node = node.getNextStockNode();
+            }
+        }
+
+        if (order != null) {
+            stockList.sort(order);
+        }
+        return stockList;
+    }
+
     public RecipeDTO getRecipe(String dishName) {
         MenuNode menuNode = restaurant.findDish(dishName);
         if (menuNode == null) {
@@ -166,12 +400,79 @@ public class RestaurantService {
         return new RecipeDTO(dishName, ingredientList);
     }
 
+    /**
+     * Shape of the stock hashtable and the menu lists, for spotting skewed chains. One walk
+     * over each structure and no locks, so it is cheap enough to poll; the arrays are read
+     * once, so a reload while it runs yields the old or the new table, not a mix.
+     */
+    public HashTableDiagnostics getHashTableDiagnostics() {
+        StockNode[] table = restaurant.getStockVar();
+        int buckets = table == null ? 0 : table.length;
+        int entries = 0, empty = 0, longest = 0, longestBucket = -1;
+        long probes = 0;
+        Map<Integer, Integer> chainLengths = new TreeMap<>();
+        for (int i = 0; i < buckets; i++) {
+            int length = 0;
+            for (StockNode ptr = table[i]; ptr != null; ptr = ptr.getNextStockNode()) {
+                length++;
+                probes += length;   // finding this node visits every node before it too
+            }
+            entries += length;
+            if (length == 0) empty++;
+            if (length > longest) {
+                longest = length;
+                longestBucket = i;
+            }
+            chainLengths.merge(length, 1, Integer::sum);
+        }
+
+        String[] categories = restaurant.getCategoryArray();
+        MenuNode[] menu = restaurant.getMenu();
+        Map<String, Integer> categoryLengths = new LinkedHashMap<>();
+        int dishes = 0;
+        if (categories != null && menu != null) {
+            for (int i = 0; i < Math.min(categories.length, menu.length); i++) {
+                int length = 0;
+                for (MenuNode ptr = menu[i]; ptr != null; ptr = ptr.getNextMenuNode()) length++;
+                categoryLengths.put(categories[i], length);
+                dishes += length;
+            }
+        }
+
+        return new HashTableDiagnostics(buckets, entries, empty, longest, longestBucket,
+            entries == 0 ? 0 : (double) probes / entries, chainLengths, dishes, categoryLengths);
+    }
+
     public void resetInventory() throws IOException {
         // Reload stock from the original file
-        ClassPathResource stockResource = new ClassPathResource("data/stock.in");
-        restaurant.createStockHashTable(stockResource.getInputStream());
+        restaurant.createStockHashTable(data(stockFile));
         restaurant.updatePriceAndProfit();
         // Reset transactions
         restaurant.resetFrontNode();
     }
+
+    public static final class MenuSnapshot {
+        private final long version;
+        private final String eTag;
+        private final byte[] allDishes;
+        private final Map<String, byte[]> byCategory;
+
+        private MenuSnapshot(long version, String eTag, byte[] allDishes, Map<String, byte[]> byCategory) {
+            this.version = version;
+            this.eTag = eTag;
+            this.allDishes = allDishes;
+            this.byCategory = byCategory;
+        }
+
+        public String getETag() { return eTag; }
+
+        // getAllDishes() serialized as JSON
+        public byte[] getAllDishes() { return allDishes; }
+
+        // getDishesByCategory(category) serialized as JSON
+        public byte[] getDishesByCategory(String category) {
+            byte[] json = byCategory.get(category.toLowerCase(Locale.ROOT));
+            return json != null ? json : EMPTY_JSON_ARRAY;
+        }
+    }
 }
@@ -0,0 +1,66 @@
+package com.ruhungry.service;
+
+import com.ruhungry.core.RUHungry;
+import com.ruhungry.dto.SandboxReport;
+import com.ruhungry.dto.StockDelta;
+import com.ruhungry.replay.ReplayCommand;
+import com.ruhungry.replay.ReplayFormat;
+import com.ruhungry.replay.ReplayParser;
+import com.ruhungry.replay.ReplaySummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Previews a transaction, order, donate or restock file without changing the live
+ * restaurant. The file is replayed on a copy-on-write fork, so only the ingredients it
+ * or the live restaurant touch are copied. The replay sees the stock as it was when it
+ * started, whatever live orders and restocks do meanwhile, so the same file on the same
+ * starting stock always gives the same report.
+ */
+@Service
+public class SandboxService {
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    public SandboxReport replay(InputStream in, ReplayFormat format) throws IOException {
+        RUHungry sandbox = restaurantService.forkRestaurant();
+        try {
+            return replay(sandbox, in, format);
+        } finally {
+            sandbox.release();
+        }
+    }
+
+    private SandboxReport replay(RUHungry sandbox, InputStream in, ReplayFormat format) throws IOException {
+        double profitBefore = sandbox.profit();
+
+        ReplayParser parser = new ReplayParser(in, format);
+        ReplaySummary summary = new ReplaySummary();
+        ReplayCommand command;
+        while ((command = parser.next()) != null) {
+            summary.apply(command, sandbox);
+        }
+
+        List<StockDelta> stockChanges = new ArrayList<>();
+        sandbox.forEachForkedIngredient((ingredient, stockLevelBefore) -> {
+            int delta = ingredient.getStockLevel() - stockLevelBefore;
+            if (delta != 0) {
+                stockChanges.add(new StockDelta(ingredient.getID(), ingredient.getName(), delta, ingredient.getStockLevel()));
+            }
+        });
+        stockChanges.sort(Comparator.comparingInt(StockDelta::getId));
+
+        List<String> stockOuts = new ArrayList<>();
+        for (StockDelta change : stockChanges) {
+            if (change.getStockLevel() <= 0) stockOuts.add(change.getName());
+        }
+        return new SandboxReport(summary, profitBefore, sandbox.profit(), stockChanges, stockOuts);
+    }
+}
@@ -0,0 +1,332 @@
+package com.ruhungry.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ruhungry.core.Party;
+import com.ruhungry.core.Queue;
+import com.ruhungry.core.Reservation;
+import com.ruhungry.core.SeatingEngine;
+import com.ruhungry.core.Waitlist;
+import com.ruhungry.dto.PartyRequest;
+import com.ruhungry.dto.SeatingEvent;
+import com.ruhungry.dto.WaitlistStats;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads waitlists (a JSON array of parties or the seatguests.in text format) and writes
+ * seating results as NDJSON. Parties are read, seated and written one at a time, so
+ * simulate() runs in memory proportional to the number of tables, not parties.
+ *
+ * Also owns the walk-in waitlist: host stands check parties in concurrently and
+ * seatWaitlist() drains everyone checked in so far into seatAllGuests. Tables of
+ * reservations that have started are held until the reservation ends: the party that
+ * booked sits there at the next seatWaitlist, and no walk-in does.
+ */
+@Service
+public class SeatingService {
+
+    private static final int FLUSH_EVERY = 1024;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Waitlist waitlist = new Waitlist();
+    private int totalSeats; // no party larger than this can ever be seated
+
+    // reservations that have started and not ended, whose tables are held, and those of
+    // them whose party has not been seated yet; guarded by this
+    private final List<Reservation> heldReservations = new ArrayList<>();
+    private final List<Reservation> arrivedReservations = new ArrayList<>();
+
+    @PostConstruct
+    public void initialize() {
+        for (int seats : restaurantService.getTableSeats()) {
+            totalSeats += seats;
+        }
+    }
+
+    /**
+     * Supplies parties one at a time; next() returns null once the waitlist is exhausted.
+     */
+    public interface PartySource {
+        Party next() throws IOException;
+
+        /**
+         * The parties still to come, read one at a time as the iterator is advanced. A read
+         * that fails is thrown as an UncheckedIOException.
+         */
+        default Iterator<Party> iterator() {
+            return new Iterator<Party>() {
+                private Party next;
+
+                @Override
+                public boolean hasNext() {
+                    if (next == null) {
+                        try {
+                            next = PartySource.this.next();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                    return next != null;
+                }
+
+                @Override
+                public Party next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    Party party = next;
+                    next = null;
+                    return party;
+                }
+            };
+        }
+    }
+
+    /**
+     * Reads a JSON array of {"name": ..., "numberOfPeople": ...} objects without
+     * loading the whole array. A missing or non-positive numberOfPeople is an
+     * IllegalArgumentException.
+     */
+    public PartySource jsonParties(InputStream in) throws IOException {
+        JsonParser parser = objectMapper.getFactory().createParser(in);
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new IllegalArgumentException("Expected a JSON array of parties");
+        }
+        return () -> {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                parser.close();
+                return null;
+            }
+            PartyRequest request = parser.readValueAs(PartyRequest.class);
+            return party(request.getNumberOfPeople(), request.getName());
+        };
+    }
+
+    /**
+     * Reads the seatguests.in format: the number of parties on the first line,
+     * then one "numberOfPeople name" line per party. A malformed or non-positive
+     * numberOfPeople is an IllegalArgumentException.
+     */
+    public PartySource textParties(InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String first = nextNonBlankLine(reader);
+        long count = first == null ? 0 : Long.parseLong(first.trim());
+        long[] read = {0};
+        return () -> {
+            if (read[0] >= count) {
+                return null;
+            }
+            String line = nextNonBlankLine(reader);
+            if (line == null) {
+                return null;
+            }
+            line = line.trim();
+            int space = line.indexOf(' ');
+            if (space < 0) {
+                throw new IllegalArgumentException("Expected \"numberOfPeople name\" but got: " + line);
+            }
+            read[0]++;
+            return party(Integer.parseInt(line.substring(0, space)), line.substring(space + 1).trim());
+        };
+    }
+
+    private static Party party(int numberOfPeople, String name) {
+        if (numberOfPeople < 1) {
+            throw new IllegalArgumentException("Party " + name + " has " + numberOfPeople
+                + " people; numberOfPeople must be at least 1");
+        }
+        return new Party(numberOfPeople, name, -1);
+    }
+
+    private static String nextNonBlankLine(BufferedReader reader) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (!line.isBlank()) return line;
+        }
+        return null;
+    }
+
+    /**
+     * Checks a party into the walk-in waitlist.
+     *
+     * @throws IllegalArgumentException if the party has fewer than one person or more than
+     *         every table together seats
+     */
+    public void checkIn(String name, int numberOfPeople) {
+        Party party = party(numberOfPeople, name);
+        if (numberOfPeople > totalSeats) {
+            throw new IllegalArgumentException("Party " + name + " has " + numberOfPeople
+                + " people; all tables together seat " + totalSeats);
+        }
+        waitlist.enqueue(party);
+    }
+
+    /**
+     * Holds the reservation's table until it ends and seats its party there at the next
+     * seatWaitlist.
+     */
+    public synchronized void reservationStarted(Reservation reservation) {
+        heldReservations.add(reservation);
+        arrivedReservations.add(reservation);
+    }
+
+    /**
+     * Releases the table of a cancelled reservation.
+     */
+    public synchronized void reservationCancelled(long id) {
+        heldReservations.removeIf(r -> r.getId() == id);
+        arrivedReservations.removeIf(r -> r.getId() == id);
+    }
+
+    /**
+     * Seats every party checked in so far using seatAllGuests and returns leftQueueVar.
+     * Parties with a reservation sit at their booked tables, which walk-ins do not get.
+     * If seating fails (a party larger than every table without combineTables), nobody
+     * is seated and every party stays in the waitlist in its place.
+     * Synchronized because the waitlist allows only one consumer at a time.
+     */
+    public synchronized Queue<Party> seatWaitlist(boolean combineTables) {
+        long now = System.currentTimeMillis();
+        heldReservations.removeIf(r -> r.getEnd() <= now);
+        arrivedReservations.removeIf(r -> r.getEnd() <= now);
+        int[] heldTables = new int[heldReservations.size()];
+        for (int i = 0; i < heldTables.length; i++) {
+            heldTables[i] = heldReservations.get(i).getTable();
+        }
+        Queue<Party> reservedParties = new Queue<>();
+        for (Reservation r : arrivedReservations) {
+            reservedParties.enqueue(new Party(r.getNumberOfPeople(), r.getName(), r.getTable()));
+        }
+
+        Queue<Party> waitingQueue = new Queue<>();
+        int waiting = waitlist.copyTo(waitingQueue);
+        Queue<Party> leftQueue = restaurantService.seatAllGuests(waitingQueue, combineTables, heldTables, reservedParties);
+        waitlist.remove(waiting);
+        arrivedReservations.clear();
+        return leftQueue;
+    }
+
+    public WaitlistStats getWaitlistStats() {
+        long seated = waitlist.getSeated();
+        return new WaitlistStats(
+            waitlist.size(),
+            waitlist.getCheckedIn(),
+            seated,
+            seated == 0 ? 0 : waitlist.getTotalWaitNanos() / 1e6 / seated,
+            waitlist.getMaxWaitNanos() / 1e6
+        );
+    }
+
+    /**
+     * Seats the waitlist at a copy of the restaurant's tables without changing the
+     * restaurant, streaming a "left" line for each departure in order, then a "table"
+     * line for each occupied table before the final flush, then the flushed departures.
+     * With combineTables a party seated at adjacent tables gets a "table" line per table.
+     */
+    public void simulate(PartySource source, OutputStream out, boolean combineTables) throws IOException {
+        int[] tableSeats = restaurantService.getTableSeats();
+        SeatingEngine seating = new SeatingEngine(tableSeats, new Party[tableSeats.length], combineTables);
+
+        try (NdjsonWriter writer = new NdjsonWriter(out)) {
+            long[] order = {0};
+            try {
+                Party party;
+                while ((party = source.next()) != null) {
+                    seating.seat(party, left -> writer.write(leftEvent(++order[0], left)));
+                }
+                Party[] tables = seating.getTables();
+                for (int t = 0; t < tables.length; t++) {
+                    if (tables[t] != null) {
+                        writer.write(SeatingEvent.table(t, tableSeats[t], tables[t].getName(),
+                            tables[t].getNumberOfPeople()));
+                    }
+                }
+                seating.emptyTables(left -> writer.write(leftEvent(++order[0], left)));
+            } catch (IllegalArgumentException e) {
+                writer.write(SeatingEvent.error(e.getMessage()));
+            } catch (JsonProcessingException e) {
+                writer.write(SeatingEvent.error(e.getOriginalMessage()));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Writes a queue of parties that left as "left" lines, without removing them.
+     */
+    public void writeLeftQueue(Queue<Party> leftQueue, OutputStream out) throws IOException {
+        try (NdjsonWriter writer = new NdjsonWriter(out)) {
+            if (leftQueue == null) return;
+            long order = 0;
+            for (Party party : leftQueue) {
+                writer.write(leftEvent(++order, party));
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static SeatingEvent leftEvent(long order, Party party) {
+        return SeatingEvent.left(order, party.getName(), party.getNumberOfPeople(), party.getTableIndex());
+    }
+
+    // Writes one JSON object per line, flushing every FLUSH_EVERY lines
+    private final class NdjsonWriter implements AutoCloseable {
+        private final JsonGenerator generator;
+        private final ObjectWriter writer;
+        private int unflushed;
+        private boolean empty = true;
+
+        private NdjsonWriter(OutputStream out) throws IOException {
+            generator = objectMapper.getFactory().createGenerator(out);
+            generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+            writer = objectMapper.writerFor(SeatingEvent.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        }
+
+        private void write(SeatingEvent event) {
+            try {
+                writer.writeValue(generator, event);
+                empty = false;
+                if (++unflushed == FLUSH_EVERY) {
+                    generator.flush();
+                    unflushed = 0;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!empty) generator.writeRaw('\n');
+            generator.flush();
+        }
+    }
+}
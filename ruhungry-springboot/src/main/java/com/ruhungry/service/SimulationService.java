@@ -0,0 +1,57 @@
+package com.ruhungry.service;
+
+import com.ruhungry.simulation.DaySimulator;
+import com.ruhungry.simulation.MonteCarloReport;
+import com.ruhungry.simulation.MonteCarloRunner;
+import com.ruhungry.simulation.SimulationConfig;
+import com.ruhungry.simulation.SimulationResult;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Runs simulated days against a copy of the live restaurant, so simulations never
+ * change live stock or transactions. Monte Carlo runs share one fork-join pool.
+ */
+@Service
+public class SimulationService {
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Value("${ruhungry.simulation.parallelism:0}")
+    private int parallelism;
+
+    @Value("${ruhungry.simulation.max-runs:100000}")
+    private int maxRuns;
+
+    private ForkJoinPool pool;
+
+    @PostConstruct
+    public void start() {
+        pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void stop() {
+        pool.shutdownNow();
+    }
+
+    public SimulationResult simulateDay(SimulationConfig config) {
+        return new DaySimulator(restaurantService.copyRestaurant(), config).run();
+    }
+
+    /**
+     * @throws IllegalArgumentException if runs is not between 1 and the configured maximum
+     */
+    public MonteCarloReport monteCarlo(SimulationConfig config, int runs) {
+        if (runs <= 0 || runs > maxRuns) {
+            throw new IllegalArgumentException("runs must be between 1 and " + maxRuns);
+        }
+        return new MonteCarloRunner(restaurantService.copyRestaurant(), pool).run(config, runs);
+    }
+}
@@ -0,0 +1,103 @@
+package com.ruhungry.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ruhungry.core.Ingredient;
+import com.ruhungry.core.MenuNode;
+import com.ruhungry.core.RUHungry;
+import com.ruhungry.core.StockNode;
+import com.ruhungry.dto.OrderResponse;
+import com.ruhungry.dto.StockResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the engine's hot paths on throwaway forks of the loaded restaurant until the JIT has
+ * compiled them, and only then reports the application ready at /actuator/health/readiness.
+ *
+ * Each round forks the restaurant (so stock never runs out and the live restaurant is never
+ * touched), orders every dish, looks every ingredient up by ID and by name, and serializes the
+ * order, stock and menu responses with the application's ObjectMapper. The forks are measured
+ * by their own EngineMeters, so the compiled code sees the same metrics class as live traffic
+ * while the live counters and latency recorders stay empty.
+ *
+ * Enabled by ruhungry.warmup.enabled=true. The property is read when the runner runs rather than
+ * in a bean condition, so an AOT-processed build (mvn -Pstartup) can still switch it at runtime.
+ */
+@Component
+public class WarmUpRunner implements ApplicationRunner {
+
+    private final ApplicationContext context;
+    private final RestaurantService restaurantService;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int iterations;
+    private final long maxNanos;
+
+    public WarmUpRunner(ApplicationContext context, RestaurantService restaurantService, ObjectMapper objectMapper,
+                        @Value("${ruhungry.warmup.enabled:false}") boolean enabled,
+                        @Value("${ruhungry.warmup.iterations:20000}") int iterations,
+                        @Value("${ruhungry.warmup.max-time:30s}") Duration maxTime) {
+        this.context = context;
+        this.restaurantService = restaurantService;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.iterations = iterations;
+        this.maxNanos = maxTime.toNanos();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws JsonProcessingException {
+        if (!enabled) return;
+        AvailabilityChangeEvent.publish(context, ReadinessState.REFUSING_TRAFFIC);
+        warmUp();
+        AvailabilityChangeEvent.publish(context, ReadinessState.ACCEPTING_TRAFFIC);
+    }
+
+    // places ruhungry.warmup.iterations orders in total, or as many as fit in ruhungry.warmup.max-time
+    private void warmUp() throws JsonProcessingException {
+        EngineMeters meters = new EngineMeters(new SimpleMeterRegistry(), new LatencyRecorders());
+        List<String> dishes = new ArrayList<>();
+        RUHungry menu = restaurantService.forkRestaurant();
+        for (MenuNode category : menu.getMenu()) {
+            for (MenuNode node = category; node != null; node = node.getNextMenuNode()) {
+                dishes.add(node.getDish().getName());
+            }
+        }
+        menu.release();
+        if (dishes.isEmpty()) return;
+
+        long started = System.nanoTime();
+        long orders = 0;
+        while (orders < iterations && System.nanoTime() - started < maxNanos) {
+            RUHungry fork = restaurantService.forkRestaurant();
+            fork.setMetrics(meters);
+            for (String dish : dishes) {
+                boolean available = fork.checkDishAvailability(dish, 1);
+                fork.order(dish, 1);
+                objectMapper.writeValueAsBytes(new OrderResponse(dish, 1, available, fork.profit()));
+                orders++;
+            }
+            for (StockNode chain : fork.getStockVar()) {
+                for (StockNode node = chain; node != null; node = node.getNextStockNode()) {
+                    Ingredient ingredient = fork.findStockNode(node.getIngredient().getID()).getIngredient();
+                    fork.findStockNode(ingredient.getName());
+                    objectMapper.writeValueAsBytes(new StockResponse(ingredient.getID(), ingredient.getName(),
+                        ingredient.getStockLevel(), ingredient.getCost()));
+                }
+            }
+            objectMapper.writeValueAsBytes(restaurantService.getAllDishes());
+            fork.release();
+        }
+    }
+}
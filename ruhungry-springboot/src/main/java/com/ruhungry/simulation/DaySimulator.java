@@ -0,0 +1,359 @@
+package com.ruhungry.simulation;
+
+import com.ruhungry.core.Ingredient;
+import com.ruhungry.core.MenuNode;
+import com.ruhungry.core.Party;
+import com.ruhungry.core.RUHungry;
+import com.ruhungry.core.SeatingEngine;
+import com.ruhungry.core.StockNode;
+import com.ruhungry.core.TransactionData;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Runs RUHungry for a day: a discrete-event simulation of parties arriving, waiting in
+ * line, being seated, ordering from menuVar and leaving, plus periodic restocks, all
+ * against one RUHungry instance.
+ *
+ * Events sit in a primitive EventQueue keyed by simulated time in seconds. All random
+ * choices come from one SplittableRandom seeded from the config, so the same restaurant
+ * and config always produce the same day.
+ *
+ * A simulator runs once and changes the restaurant's stock and transactions; give it a
+ * fresh, copied or forked RUHungry for every run.
+ */
+public class DaySimulator {
+
+    // Event types
+    private static final int ARRIVAL = 0;
+    private static final int ORDER = 1;
+    private static final int DEPARTURE = 2;
+    private static final int WALK_AWAY = 3;
+    private static final int RESTOCK = 4;
+
+    // Party states
+    private static final byte WAITING = 1;
+    private static final byte SEATED = 2;
+    private static final byte GONE = 3;
+
+    private final RUHungry restaurant;
+    private final SimulationConfig config;
+    private final SplittableRandom random;
+    private final EventQueue events = new EventQueue(1024);
+    private final SeatingEngine seating;
+    private final String[] dishes;            // every dish on the menu
+    private final int[] ingredientIDs;        // every ingredient in the stockroom
+    private final SimulationResult result = new SimulationResult();
+
+    // Parties by ID
+    private Party[] parties = new Party[256];
+    private long[] arrivedAt = new long[256];
+    private byte[] state = new byte[256];
+    private int partyCount;
+
+    // The line of waiting party IDs, a circular array. Parties that walked away are
+    // skipped when they reach the front.
+    private int[] line = new int[64];
+    private int lineFirst;
+    private int lineSize;
+    private int waiting;                       // parties in line that are still WAITING
+
+    private long totalWaitSeconds;
+    private long maxWaitSeconds;
+    private boolean ran;
+
+    /*
+     * Constructor
+     * @param restaurant the restaurant to run, with stock, menu and tables loaded
+     * @param config the parameters of the day
+     */
+    public DaySimulator(RUHungry restaurant, SimulationConfig config) {
+        config.validate();
+        this.restaurant = restaurant;
+        this.config = config;
+        random = new SplittableRandom(config.getSeed());
+        int[] tableSeats = restaurant.getTableSeats();
+        seating = new SeatingEngine(tableSeats, new Party[tableSeats.length], config.isCombineTables());
+        dishes = dishNames(restaurant);
+        ingredientIDs = ingredientIDs(restaurant);
+    }
+
+    /**
+     * Simulates the day until the last party has left.
+     *
+     * @return counts, profit and wait times of the day
+     * @throws IllegalStateException if this simulator already ran
+     */
+    public SimulationResult run() {
+        if (ran) throw new IllegalStateException("A DaySimulator runs only once");
+        ran = true;
+
+        long started = System.nanoTime();
+        double profitBefore = restaurant.profit();
+        long closing = config.getDayMinutes() * 60L;
+        long restockInterval = config.getRestockIntervalMinutes() * 60L;
+
+        scheduleNextArrival(0, closing);
+        if (restockInterval < closing) {
+            events.schedule(restockInterval, RESTOCK, 0);
+        }
+
+        long count = 0;
+        while (!events.isEmpty()) {
+            events.poll();
+            long now = events.time();
+            int id = events.payload();
+            switch (events.type()) {
+                case ARRIVAL:
+                    arrive(now);
+                    scheduleNextArrival(now, closing);
+                    break;
+                case ORDER:
+                    order(id, now);
+                    break;
+                case DEPARTURE:
+                    depart(id, now);
+                    break;
+                case WALK_AWAY:
+                    walkAway(id, now);
+                    break;
+                case RESTOCK:
+                    restock();
+                    if (now + restockInterval < closing) {
+                        events.schedule(now + restockInterval, RESTOCK, 0);
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown event type " + events.type());
+            }
+            count++;
+        }
+
+        result.setSeed(config.getSeed());
+        result.setEvents(count);
+        result.setPartiesArrived(partyCount);
+        result.setProfit(restaurant.profit() - profitBefore);
+        result.setIngredientsOut(countIngredientsOut());
+        result.setAverageWaitMinutes(result.getPartiesSeated() == 0
+            ? 0 : totalWaitSeconds / 60.0 / result.getPartiesSeated());
+        result.setMaxWaitMinutes(maxWaitSeconds / 60.0);
+        result.setElapsedNanos(System.nanoTime() - started);
+        return result;
+    }
+
+    /*
+     * Event handlers
+     */
+
+    private void arrive(long now) {
+        int id = newParty(1 + random.nextInt(config.getMaxPartySize()), now);
+        if (waiting == 0 && trySeat(id, now)) {
+            return;
+        }
+        if (waiting >= config.getMaxWaiting()) {
+            state[id] = GONE;
+            result.setPartiesWalkedAway(result.getPartiesWalkedAway() + 1);
+            return;
+        }
+        joinLine(id);
+        events.schedule(now + config.getPatienceMinutes() * 60L, WALK_AWAY, id);
+    }
+
+    private void order(int id, long now) {
+        Party party = parties[id];
+        for (int person = 0; person < party.getNumberOfPeople(); person++) {
+            String dish = dishes[random.nextInt(dishes.length)];
+            TransactionData served = restaurant.order(dish, 1);
+            if (served == null) {
+                result.setDishesFailed(result.getDishesFailed() + 1);
+            } else {
+                result.setDishesServed(result.getDishesServed() + 1);
+                if (!served.getItem().equals(dish)) {
+                    result.setDishesSubstituted(result.getDishesSubstituted() + 1);
+                }
+            }
+        }
+        result.setDishesOrdered(result.getDishesOrdered() + party.getNumberOfPeople());
+
+        int mean = config.getMeanMealMinutes() * 60;
+        events.schedule(now + mean / 2 + random.nextInt(mean + 1), DEPARTURE, id);
+    }
+
+    private void depart(int id, long now) {
+        seating.vacate(parties[id].getTableIndex());
+        state[id] = GONE;
+        parties[id] = null;
+        seatLine(now);
+    }
+
+    private void walkAway(int id, long now) {
+        if (state[id] != WAITING) return;
+        state[id] = GONE;
+        parties[id] = null;
+        waiting--;
+        result.setPartiesWalkedAway(result.getPartiesWalkedAway() + 1);
+        // the parties behind may fit at tables the one that left was waiting for
+        seatLine(now);
+    }
+
+    private void restock() {
+        for (int id : ingredientIDs) {
+            Ingredient ingredient = restaurant.findStockNode(id).getIngredient();
+            if (ingredient.getStockLevel() >= config.getRestockThreshold()) continue;
+            if (restaurant.restock(ingredient.getName(), config.getRestockQuantity())) {
+                result.setRestocks(result.getRestocks() + 1);
+            } else {
+                result.setRestocksFailed(result.getRestocksFailed() + 1);
+            }
+        }
+    }
+
+    /*
+     * Helpers
+     */
+
+    // seats parties from the front of the line until the first one that does not fit
+    private void seatLine(long now) {
+        while (lineSize > 0) {
+            int id = line[lineFirst];
+            if (state[id] == WAITING) {
+                if (!trySeat(id, now)) return;
+                waiting--;
+            }
+            lineFirst = (lineFirst + 1) & (line.length - 1);
+            lineSize--;
+        }
+    }
+
+    private boolean trySeat(int id, long now) {
+        if (seating.seatIfFree(parties[id]) < 0) return false;
+        state[id] = SEATED;
+        long waited = now - arrivedAt[id];
+        totalWaitSeconds += waited;
+        maxWaitSeconds = Math.max(maxWaitSeconds, waited);
+        result.setPartiesSeated(result.getPartiesSeated() + 1);
+        events.schedule(now + config.getOrderDelayMinutes() * 60L, ORDER, id);
+        return true;
+    }
+
+    private void joinLine(int id) {
+        if (lineSize == line.length) {
+            int[] grown = new int[line.length * 2];
+            for (int i = 0; i < lineSize; i++) {
+                grown[i] = line[(lineFirst + i) & (line.length - 1)];
+            }
+            line = grown;
+            lineFirst = 0;
+        }
+        line[(lineFirst + lineSize) & (line.length - 1)] = id;
+        lineSize++;
+        state[id] = WAITING;
+        waiting++;
+    }
+
+    private int newParty(int size, long now) {
+        if (partyCount == parties.length) {
+            parties = Arrays.copyOf(parties, partyCount * 2);
+            arrivedAt = Arrays.copyOf(arrivedAt, partyCount * 2);
+            state = Arrays.copyOf(state, partyCount * 2);
+        }
+        int id = partyCount++;
+        parties[id] = new Party(size, "Walk-in", -1);
+        arrivedAt[id] = now;
+        return id;
+    }
+
+    // exponential gaps give a Poisson arrival process
+    private void scheduleNextArrival(long now, long closing) {
+        double meanGapSeconds = 3600.0 / config.getArrivalsPerHour();
+        long next = now + (long) Math.ceil(-Math.log(1.0 - random.nextDouble()) * meanGapSeconds);
+        if (next < closing) {
+            events.schedule(next, ARRIVAL, 0);
+        }
+    }
+
+    private int countIngredientsOut() {
+        int out = 0;
+        for (int id : ingredientIDs) {
+            if (restaurant.findStockNode(id).getIngredient().getStockLevel() <= 0) out++;
+        }
+        return out;
+    }
+
+    private static String[] dishNames(RUHungry restaurant) {
+        List<String> names = new ArrayList<>();
+        for (MenuNode category : restaurant.getMenu()) {
+            for (MenuNode ptr = category; ptr != null; ptr = ptr.getNextMenuNode()) {
+                names.add(ptr.getDish().getName());
+            }
+        }
+        if (names.isEmpty()) throw new IllegalArgumentException("The menu is empty");
+        return names.toArray(new String[0]);
+    }
+
+    // IDs rather than Ingredient objects, so a forked restaurant's own copies are read
+    private static int[] ingredientIDs(RUHungry restaurant) {
+        List<Integer> list = new ArrayList<>();
+        for (StockNode bucket : restaurant.getStockVar()) {
+            for (StockNode ptr = bucket; ptr != null; ptr = ptr.getNextStockNode()) {
+                list.add(ptr.getIngredient().getID());
+            }
+        }
+        return list.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Loads the restaurant the application starts with: data/stock.in, data/menu.in and
+     * the given tables file from the classpath, with prices computed.
+     *
+     * @param tablesFile the tables file under data/, e.g. "tables1.in"
+     */
+    public static RUHungry loadRestaurant(String tablesFile) throws IOException {
+        RUHungry restaurant = new RUHungry();
+        try (InputStream stock = resource("data/stock.in");
+             InputStream menu = resource("data/menu.in");
+             InputStream tables = resource("data/" + tablesFile)) {
+            restaurant.createStockHashTable(stock);
+            restaurant.menu(menu);
+            restaurant.createTables(tables);
+        }
+        restaurant.updatePriceAndProfit();
+        return restaurant;
+    }
+
+    private static InputStream resource(String name) throws IOException {
+        InputStream in = DaySimulator.class.getClassLoader().getResourceAsStream(name);
+        if (in == null) throw new IOException("Missing classpath resource " + name);
+        return in;
+    }
+
+    /**
+     * Simulates one day from the command line and prints the result.
+     *
+     * Usage: DaySimulator [seed] [arrivalsPerHour] [dayMinutes] [tablesFile]
+     */
+    public static void main(String[] args) throws IOException {
+        SimulationConfig config = new SimulationConfig();
+        if (args.length > 0) config.setSeed(Long.parseLong(args[0]));
+        if (args.length > 1) config.setArrivalsPerHour(Double.parseDouble(args[1]));
+        if (args.length > 2) config.setDayMinutes(Integer.parseInt(args[2]));
+        String tablesFile = args.length > 3 ? args[3] : "tables1.in";
+
+        SimulationResult r = new DaySimulator(loadRestaurant(tablesFile), config).run();
+        System.out.printf("seed %d: %,d events in %.1f ms (%,.0f events/s)%n",
+            r.getSeed(), r.getEvents(), r.getElapsedNanos() / 1e6, r.getEventsPerSecond());
+        System.out.printf("parties: %,d arrived, %,d seated, %,d walked away (wait avg %.1f min, max %.1f min)%n",
+            r.getPartiesArrived(), r.getPartiesSeated(), r.getPartiesWalkedAway(),
+            r.getAverageWaitMinutes(), r.getMaxWaitMinutes());
+        System.out.printf("dishes: %,d ordered, %,d served (%,d substituted), %,d failed%n",
+            r.getDishesOrdered(), r.getDishesServed(), r.getDishesSubstituted(), r.getDishesFailed());
+        System.out.printf("restocks: %,d made, %,d failed; %d ingredient(s) out at close%n",
+            r.getRestocks(), r.getRestocksFailed(), r.getIngredientsOut());
+        System.out.printf("profit: %.2f%n", r.getProfit());
+    }
+}
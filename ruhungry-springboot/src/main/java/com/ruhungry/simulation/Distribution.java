@@ -0,0 +1,62 @@
+package com.ruhungry.simulation;
+
+import java.util.Arrays;
+
+/**
+ * Summary of one measure over many simulated days.
+ */
+public class Distribution {
+    private double mean;
+    private double min;
+    private double p5;
+    private double p50;
+    private double p95;
+    private double max;
+
+    public Distribution() {}
+
+    public Distribution(double mean, double min, double p5, double p50, double p95, double max) {
+        this.mean = mean;
+        this.min = min;
+        this.p5 = p5;
+        this.p50 = p50;
+        this.p95 = p95;
+        this.max = max;
+    }
+
+    /**
+     * Summarizes the values, using the nearest-rank percentile. Sorts values in place.
+     */
+    public static Distribution of(double[] values) {
+        if (values.length == 0) return new Distribution();
+        Arrays.sort(values);
+        double sum = 0;
+        for (double value : values) sum += value;
+        return new Distribution(sum / values.length, values[0], percentile(values, 5),
+            percentile(values, 50), percentile(values, 95), values[values.length - 1]);
+    }
+
+    private static double percentile(double[] sorted, int percent) {
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    // Getters and setters
+    public double getMean() { return mean; }
+    public void setMean(double mean) { this.mean = mean; }
+
+    public double getMin() { return min; }
+    public void setMin(double min) { this.min = min; }
+
+    public double getP5() { return p5; }
+    public void setP5(double p5) { this.p5 = p5; }
+
+    public double getP50() { return p50; }
+    public void setP50(double p50) { this.p50 = p50; }
+
+    public double getP95() { return p95; }
+    public void setP95(double p95) { this.p95 = p95; }
+
+    public double getMax() { return max; }
+    public void setMax(double max) { this.max = max; }
+}
@@ -0,0 +1,109 @@
+package com.ruhungry.simulation;
+
+import java.util.Arrays;
+
+/**
+ * A binary min-heap of simulation events stored in primitive arrays, so scheduling
+ * does not allocate an object per event.
+ *
+ * Events are ordered by time, then by the order they were scheduled in, which keeps a
+ * run with a given seed deterministic when events share a time.
+ */
+final class EventQueue {
+    private long[] keys;    // time in the high 32 bits, scheduling order in the low 32 bits
+    private int[] types;
+    private int[] payloads;
+    private int size;
+    private int scheduled;  // events scheduled so far, the tie breaker
+
+    // the event removed by the last poll()
+    private long time;
+    private int type;
+    private int payload;
+
+    EventQueue(int capacity) {
+        keys = new long[Math.max(capacity, 16)];
+        types = new int[keys.length];
+        payloads = new int[keys.length];
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /*
+     * Schedules an event.
+     * @param time seconds since the simulation started, must be below 2^31
+     */
+    void schedule(long time, int type, int payload) {
+        if (size == keys.length) grow();
+        long key = time << 32 | (scheduled++ & 0xFFFFFFFFL);
+        int i = size++;
+        // sift up
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (keys[parent] <= key) break;
+            move(parent, i);
+            i = parent;
+        }
+        keys[i] = key;
+        types[i] = type;
+        payloads[i] = payload;
+    }
+
+    /*
+     * Removes the earliest event; read it with time(), type() and payload().
+     */
+    void poll() {
+        time = keys[0] >>> 32;
+        type = types[0];
+        payload = payloads[0];
+
+        size--;
+        long key = keys[size];
+        int lastType = types[size];
+        int lastPayload = payloads[size];
+        int i = 0;
+        // sift down
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && keys[child + 1] < keys[child]) child++;
+            if (key <= keys[child]) break;
+            move(child, i);
+            i = child;
+        }
+        keys[i] = key;
+        types[i] = lastType;
+        payloads[i] = lastPayload;
+    }
+
+    long time() {
+        return time;
+    }
+
+    int type() {
+        return type;
+    }
+
+    int payload() {
+        return payload;
+    }
+
+    private void move(int from, int to) {
+        keys[to] = keys[from];
+        types[to] = types[from];
+        payloads[to] = payloads[from];
+    }
+
+    private void grow() {
+        int capacity = keys.length * 2;
+        keys = Arrays.copyOf(keys, capacity);
+        types = Arrays.copyOf(types, capacity);
+        payloads = Arrays.copyOf(payloads, capacity);
+    }
+}
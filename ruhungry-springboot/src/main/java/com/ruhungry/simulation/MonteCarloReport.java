@@ -0,0 +1,50 @@
+package com.ruhungry.simulation;
+
+/**
+ * Distributions of the results of many simulated days.
+ */
+public class MonteCarloReport {
+    private int runs;
+    private long seed;                   // seed the per-run seeds were drawn from
+    private Distribution profit;
+    private Distribution partiesWalkedAway;
+    private Distribution dishesFailed;
+    private Distribution ingredientsOut;
+    private Distribution averageWaitMinutes;
+    private double stockOutRate;         // fraction of days ending with an ingredient out of stock
+    private long events;
+    private long elapsedMillis;
+
+    public MonteCarloReport() {}
+
+    // Getters and setters
+    public int getRuns() { return runs; }
+    public void setRuns(int runs) { this.runs = runs; }
+
+    public long getSeed() { return seed; }
+    public void setSeed(long seed) { this.seed = seed; }
+
+    public Distribution getProfit() { return profit; }
+    public void setProfit(Distribution profit) { this.profit = profit; }
+
+    public Distribution getPartiesWalkedAway() { return partiesWalkedAway; }
+    public void setPartiesWalkedAway(Distribution partiesWalkedAway) { this.partiesWalkedAway = partiesWalkedAway; }
+
+    public Distribution getDishesFailed() { return dishesFailed; }
+    public void setDishesFailed(Distribution dishesFailed) { this.dishesFailed = dishesFailed; }
+
+    public Distribution getIngredientsOut() { return ingredientsOut; }
+    public void setIngredientsOut(Distribution ingredientsOut) { this.ingredientsOut = ingredientsOut; }
+
+    public Distribution getAverageWaitMinutes() { return averageWaitMinutes; }
+    public void setAverageWaitMinutes(Distribution averageWaitMinutes) { this.averageWaitMinutes = averageWaitMinutes; }
+
+    public double getStockOutRate() { return stockOutRate; }
+    public void setStockOutRate(double stockOutRate) { this.stockOutRate = stockOutRate; }
+
+    public long getEvents() { return events; }
+    public void setEvents(long events) { this.events = events; }
+
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+}
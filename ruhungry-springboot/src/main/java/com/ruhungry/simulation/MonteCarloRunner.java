@@ -0,0 +1,161 @@
+package com.ruhungry.simulation;
+
+import com.ruhungry.core.RUHungry;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Simulates many days in parallel, each on its own fork of a baseline restaurant, and
+ * summarizes the results as percentiles.
+ *
+ * The run seeds are drawn from the config's seed before any work starts and every run
+ * writes only its own slot of the result arrays, so a report depends on the seed and
+ * not on how the fork-join pool scheduled the runs.
+ */
+public class MonteCarloRunner {
+
+    private static final int RUNS_PER_TASK = 4;
+
+    private final RUHungry baseline;
+    private final ForkJoinPool pool;
+
+    /*
+     * Constructor
+     * @param baseline the restaurant every run starts from; it is only read, never changed
+     * @param pool the pool the runs execute in
+     */
+    public MonteCarloRunner(RUHungry baseline, ForkJoinPool pool) {
+        this.baseline = baseline;
+        this.pool = pool;
+    }
+
+    /**
+     * Simulates the given number of days.
+     *
+     * @param config the parameters of every day; its seed seeds the per-day seeds
+     * @param runs the number of days
+     */
+    public MonteCarloReport run(SimulationConfig config, int runs) {
+        if (runs <= 0) throw new IllegalArgumentException("runs must be positive");
+        config.validate();
+        long started = System.nanoTime();
+
+        long[] seeds = new long[runs];
+        SplittableRandom seedSource = new SplittableRandom(config.getSeed());
+        for (int i = 0; i < runs; i++) seeds[i] = seedSource.nextLong();
+
+        Results results = new Results(runs);
+        pool.invoke(new Days(config, seeds, results, 0, runs));
+
+        MonteCarloReport report = new MonteCarloReport();
+        report.setRuns(runs);
+        report.setSeed(config.getSeed());
+        int stockOutDays = 0;
+        long events = 0;
+        for (int i = 0; i < runs; i++) {
+            if (results.ingredientsOut[i] > 0) stockOutDays++;
+            events += results.events[i];
+        }
+        report.setStockOutRate((double) stockOutDays / runs);
+        report.setEvents(events);
+        report.setProfit(Distribution.of(results.profit));
+        report.setPartiesWalkedAway(Distribution.of(results.walkedAway));
+        report.setDishesFailed(Distribution.of(results.dishesFailed));
+        report.setIngredientsOut(Distribution.of(results.ingredientsOut));
+        report.setAverageWaitMinutes(Distribution.of(results.averageWait));
+        report.setElapsedMillis((System.nanoTime() - started) / 1_000_000);
+        return report;
+    }
+
+    // one slot per run
+    private static final class Results {
+        private final double[] profit;
+        private final double[] walkedAway;
+        private final double[] dishesFailed;
+        private final double[] ingredientsOut;
+        private final double[] averageWait;
+        private final long[] events;
+
+        private Results(int runs) {
+            profit = new double[runs];
+            walkedAway = new double[runs];
+            dishesFailed = new double[runs];
+            ingredientsOut = new double[runs];
+            averageWait = new double[runs];
+            events = new long[runs];
+        }
+    }
+
+    // simulates days [from, to), splitting the range until it is small
+    private final class Days extends RecursiveAction {
+        private final SimulationConfig config;
+        private final long[] seeds;
+        private final Results results;
+        private final int from;
+        private final int to;
+
+        private Days(SimulationConfig config, long[] seeds, Results results, int from, int to) {
+            this.config = config;
+            this.seeds = seeds;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > RUNS_PER_TASK) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new Days(config, seeds, results, from, mid),
+                          new Days(config, seeds, results, mid, to));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                SimulationConfig day = new SimulationConfig(config);
+                day.setSeed(seeds[i]);
+                RUHungry fork = baseline.fork();
+                SimulationResult r = new DaySimulator(fork, day).run();
+                fork.release();
+                results.profit[i] = r.getProfit();
+                results.walkedAway[i] = r.getPartiesWalkedAway();
+                results.dishesFailed[i] = r.getDishesFailed();
+                results.ingredientsOut[i] = r.getIngredientsOut();
+                results.averageWait[i] = r.getAverageWaitMinutes();
+                results.events[i] = r.getEvents();
+            }
+        }
+    }
+
+    /**
+     * Runs a Monte Carlo study from the command line and prints the percentiles.
+     *
+     * Usage: MonteCarloRunner [runs] [seed] [arrivalsPerHour] [tablesFile]
+     */
+    public static void main(String[] args) throws IOException {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        SimulationConfig config = new SimulationConfig();
+        if (args.length > 1) config.setSeed(Long.parseLong(args[1]));
+        if (args.length > 2) config.setArrivalsPerHour(Double.parseDouble(args[2]));
+        String tablesFile = args.length > 3 ? args[3] : "tables1.in";
+
+        RUHungry baseline = DaySimulator.loadRestaurant(tablesFile);
+        MonteCarloReport report = new MonteCarloRunner(baseline, ForkJoinPool.commonPool()).run(config, runs);
+        System.out.printf("%,d days, %,d events in %,d ms on %d threads%n", report.getRuns(), report.getEvents(),
+            report.getElapsedMillis(), ForkJoinPool.commonPool().getParallelism());
+        System.out.printf("%-20s %10s %10s %10s %10s %10s %10s%n", "", "mean", "min", "p5", "p50", "p95", "max");
+        print("profit", report.getProfit());
+        print("walked away", report.getPartiesWalkedAway());
+        print("dishes failed", report.getDishesFailed());
+        print("ingredients out", report.getIngredientsOut());
+        print("avg wait (min)", report.getAverageWaitMinutes());
+        System.out.printf("stock-out rate: %.1f%%%n", report.getStockOutRate() * 100);
+    }
+
+    private static void print(String name, Distribution d) {
+        System.out.printf("%-20s %10.2f %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+            name, d.getMean(), d.getMin(), d.getP5(), d.getP50(), d.getP95(), d.getMax());
+    }
+}
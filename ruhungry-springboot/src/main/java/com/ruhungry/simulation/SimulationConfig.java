@@ -0,0 +1,95 @@
+package com.ruhungry.simulation;
+
+/**
+ * Parameters of a simulated day. Times are in minutes; the defaults describe a
+ * twelve hour day at a small restaurant.
+ */
+public class SimulationConfig {
+    private long seed = 1;
+    private int dayMinutes = 720;              // doors close after this, seated parties still finish
+    private double arrivalsPerHour = 8;        // mean rate of walk-in parties
+    private int maxPartySize = 6;              // party sizes are uniform in 1..maxPartySize
+    private int orderDelayMinutes = 5;         // from sitting down to ordering
+    private int meanMealMinutes = 45;          // from ordering to leaving, uniform in [mean/2, 3*mean/2]
+    private int patienceMinutes = 30;          // a waiting party walks away after this
+    private int maxWaiting = 20;               // parties arriving to a longer line walk away at once
+    private boolean combineTables = false;     // seat parties larger than every table at adjacent tables
+    private int restockIntervalMinutes = 60;   // how often the pantry is checked
+    private int restockThreshold = 10;         // ingredients below this stock level are restocked
+    private int restockQuantity = 25;          // how much of each low ingredient is ordered
+
+    public SimulationConfig() {}
+
+    public SimulationConfig(SimulationConfig other) {
+        this.seed = other.seed;
+        this.dayMinutes = other.dayMinutes;
+        this.arrivalsPerHour = other.arrivalsPerHour;
+        this.maxPartySize = other.maxPartySize;
+        this.orderDelayMinutes = other.orderDelayMinutes;
+        this.meanMealMinutes = other.meanMealMinutes;
+        this.patienceMinutes = other.patienceMinutes;
+        this.maxWaiting = other.maxWaiting;
+        this.combineTables = other.combineTables;
+        this.restockIntervalMinutes = other.restockIntervalMinutes;
+        this.restockThreshold = other.restockThreshold;
+        this.restockQuantity = other.restockQuantity;
+    }
+
+    // Getters and setters
+    public long getSeed() { return seed; }
+    public void setSeed(long seed) { this.seed = seed; }
+
+    public int getDayMinutes() { return dayMinutes; }
+    public void setDayMinutes(int dayMinutes) { this.dayMinutes = dayMinutes; }
+
+    public double getArrivalsPerHour() { return arrivalsPerHour; }
+    public void setArrivalsPerHour(double arrivalsPerHour) { this.arrivalsPerHour = arrivalsPerHour; }
+
+    public int getMaxPartySize() { return maxPartySize; }
+    public void setMaxPartySize(int maxPartySize) { this.maxPartySize = maxPartySize; }
+
+    public int getOrderDelayMinutes() { return orderDelayMinutes; }
+    public void setOrderDelayMinutes(int orderDelayMinutes) { this.orderDelayMinutes = orderDelayMinutes; }
+
+    public int getMeanMealMinutes() { return meanMealMinutes; }
+    public void setMeanMealMinutes(int meanMealMinutes) { this.meanMealMinutes = meanMealMinutes; }
+
+    public int getPatienceMinutes() { return patienceMinutes; }
+    public void setPatienceMinutes(int patienceMinutes) { this.patienceMinutes = patienceMinutes; }
+
+    public int getMaxWaiting() { return maxWaiting; }
+    public void setMaxWaiting(int maxWaiting) { this.maxWaiting = maxWaiting; }
+
+    public boolean isCombineTables() { return combineTables; }
+    public void setCombineTables(boolean combineTables) { this.combineTables = combineTables; }
+
+    public int getRestockIntervalMinutes() { return restockIntervalMinutes; }
+    public void setRestockIntervalMinutes(int restockIntervalMinutes) { this.restockIntervalMinutes = restockIntervalMinutes; }
+
+    public int getRestockThreshold() { return restockThreshold; }
+    public void setRestockThreshold(int restockThreshold) { this.restockThreshold = restockThreshold; }
+
+    public int getRestockQuantity() { return restockQuantity; }
+    public void setRestockQuantity(int restockQuantity) { this.restockQuantity = restockQuantity; }
+
+    /**
+     * @throws IllegalArgumentException if a parameter is out of range
+     */
+    public void validate() {
+        if (dayMinutes <= 0 || dayMinutes > 60 * 24 * 366) {
+            throw new IllegalArgumentException("dayMinutes must be between 1 and " + 60 * 24 * 366);
+        }
+        if (!(arrivalsPerHour > 0)) {
+            throw new IllegalArgumentException("arrivalsPerHour must be positive");
+        }
+        if (maxPartySize <= 0) {
+            throw new IllegalArgumentException("maxPartySize must be positive");
+        }
+        if (orderDelayMinutes < 0 || meanMealMinutes <= 0 || patienceMinutes < 0 || maxWaiting < 0) {
+            throw new IllegalArgumentException("Durations and maxWaiting must not be negative");
+        }
+        if (restockIntervalMinutes <= 0 || restockQuantity < 0) {
+            throw new IllegalArgumentException("restockIntervalMinutes must be positive");
+        }
+    }
+}
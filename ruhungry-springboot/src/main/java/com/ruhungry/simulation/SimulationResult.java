@@ -0,0 +1,78 @@
+package com.ruhungry.simulation;
+
+/**
+ * What happened during one simulated day.
+ */
+public class SimulationResult {
+    private long seed;
+    private long events;              // events taken off the event queue
+    private long partiesArrived;
+    private long partiesSeated;
+    private long partiesWalkedAway;   // line too long on arrival, or waited longer than their patience
+    private long dishesOrdered;
+    private long dishesServed;        // the dish ordered or another dish of its category
+    private long dishesSubstituted;   // served, but not the dish that was ordered
+    private long dishesFailed;        // nothing in the category was available
+    private long restocks;
+    private long restocksFailed;      // not enough profit yet to pay for the restock
+    private int ingredientsOut;       // ingredients with no stock left at the end of the day
+    private double profit;            // profit made during the day
+    private double averageWaitMinutes;
+    private double maxWaitMinutes;
+    private long elapsedNanos;
+
+    public SimulationResult() {}
+
+    public double getEventsPerSecond() {
+        return elapsedNanos == 0 ? 0 : events * 1e9 / elapsedNanos;
+    }
+
+    // Getters and setters
+    public long getSeed() { return seed; }
+    public void setSeed(long seed) { this.seed = seed; }
+
+    public long getEvents() { return events; }
+    public void setEvents(long events) { this.events = events; }
+
+    public long getPartiesArrived() { return partiesArrived; }
+    public void setPartiesArrived(long partiesArrived) { this.partiesArrived = partiesArrived; }
+
+    public long getPartiesSeated() { return partiesSeated; }
+    public void setPartiesSeated(long partiesSeated) { this.partiesSeated = partiesSeated; }
+
+    public long getPartiesWalkedAway() { return partiesWalkedAway; }
+    public void setPartiesWalkedAway(long partiesWalkedAway) { this.partiesWalkedAway = partiesWalkedAway; }
+
+    public long getDishesOrdered() { return dishesOrdered; }
+    public void setDishesOrdered(long dishesOrdered) { this.dishesOrdered = dishesOrdered; }
+
+    public long getDishesServed() { return dishesServed; }
+    public void setDishesServed(long dishesServed) { this.dishesServed = dishesServed; }
+
+    public long getDishesSubstituted() { return dishesSubstituted; }
+    public void setDishesSubstituted(long dishesSubstituted) { this.dishesSubstituted = dishesSubstituted; }
+
+    public long getDishesFailed() { return dishesFailed; }
+    public void setDishesFailed(long dishesFailed) { this.dishesFailed = dishesFailed; }
+
+    public long getRestocks() { return restocks; }
+    public void setRestocks(long restocks) { this.restocks = restocks; }
+
+    public long getRestocksFailed() { return restocksFailed; }
+    public void setRestocksFailed(long restocksFailed) { this.restocksFailed = restocksFailed; }
+
+    public int getIngredientsOut() { return ingredientsOut; }
+    public void setIngredientsOut(int ingredientsOut) { this.ingredientsOut = ingredientsOut; }
+
+    public double getProfit() { return profit; }
+    public void setProfit(double profit) { this.profit = profit; }
+
+    public double getAverageWaitMinutes() { return averageWaitMinutes; }
+    public void setAverageWaitMinutes(double averageWaitMinutes) { this.averageWaitMinutes = averageWaitMinutes; }
+
+    public double getMaxWaitMinutes() { return maxWaitMinutes; }
+    public void setMaxWaitMinutes(double maxWaitMinutes) { this.maxWaitMinutes = maxWaitMinutes; }
+
+    public long getElapsedNanos() { return elapsedNanos; }
+    public void setElapsedNanos(long elapsedNanos) { this.elapsedNanos = elapsedNanos; }
+}
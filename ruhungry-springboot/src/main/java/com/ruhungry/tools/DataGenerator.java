@@ -0,0 +1,266 @@
+package com.ruhungry.tools;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Writes stock, menu, tables, seat guests and transaction files in the formats the
+ * loaders read, at any size.
+ *
+ * The catalog (IDs, names, costs, dishes) is drawn once from the seed when the generator
+ * is built, and each file has its own random stream split from the same seed, so a file
+ * is the same no matter which other files are written or in what order.
+ */
+public class DataGenerator {
+
+    private final GeneratorConfig config;
+    private final int[] ids;                 // ingredient IDs, in stock.in order
+    private final int[][] dishIngredients;   // indexes into ids, per dish
+    private final long tablesSeed;
+    private final long guestsSeed;
+    private final long transactionsSeed;
+    private final long stockSeed;
+
+    /*
+     * Constructor
+     * @param config the sizes and distributions; it is validated here
+     */
+    public DataGenerator(GeneratorConfig config) {
+        config.validate();
+        this.config = config;
+
+        SplittableRandom seeds = new SplittableRandom(config.getSeed());
+        SplittableRandom idRandom = seeds.split();
+        SplittableRandom menuRandom = seeds.split();
+        stockSeed = seeds.nextLong();
+        tablesSeed = seeds.nextLong();
+        guestsSeed = seeds.nextLong();
+        transactionsSeed = seeds.nextLong();
+
+        ids = ingredientIds(config, idRandom);
+
+        int dishes = config.getDishes();
+        dishIngredients = new int[dishes][];
+        for (int d = 0; d < dishes; d++) {
+            int fanOut = config.getMinFanOut() + menuRandom.nextInt(config.getMaxFanOut() - config.getMinFanOut() + 1);
+            dishIngredients[d] = distinct(menuRandom, fanOut, ids.length);
+        }
+    }
+
+    public static String ingredientName(int i) {
+        return "Ingredient " + i;
+    }
+
+    public static String dishName(int d) {
+        return "Dish " + d;
+    }
+
+    public static String categoryName(int c) {
+        return "Category " + c;
+    }
+
+    /**
+     * Writes every file into the directory, creating it if needed.
+     */
+    public void writeAll(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        try (Writer out = Files.newBufferedWriter(dir.resolve("stock.in"), StandardCharsets.UTF_8)) {
+            writeStock(out);
+        }
+        try (Writer out = Files.newBufferedWriter(dir.resolve("menu.in"), StandardCharsets.UTF_8)) {
+            writeMenu(out);
+        }
+        try (Writer out = Files.newBufferedWriter(dir.resolve("tables.in"), StandardCharsets.UTF_8)) {
+            writeTables(out);
+        }
+        try (Writer out = Files.newBufferedWriter(dir.resolve("seatguests.in"), StandardCharsets.UTF_8)) {
+            writeSeatGuests(out);
+        }
+        try (Writer out = Files.newBufferedWriter(dir.resolve("transaction.in"), StandardCharsets.UTF_8)) {
+            writeTransactions(out);
+        }
+    }
+
+    /**
+     * stock.in: the hashtable size, then an "id name" line and a "cost stock" line per ingredient.
+     */
+    public void writeStock(Writer out) throws IOException {
+        SplittableRandom random = new SplittableRandom(stockSeed);
+        out.write(config.getStockTableSize() + "\n");
+        for (int i = 0; i < ids.length; i++) {
+            double cost = 0.5 + random.nextDouble() * 9.5;
+            int stock = config.getMinStock() + random.nextInt(config.getMaxStock() - config.getMinStock() + 1);
+            out.write(ids[i] + " " + ingredientName(i) + "\n");
+            out.write(String.format(Locale.ROOT, "%.2f %d%n", cost, stock));
+        }
+    }
+
+    /**
+     * menu.in: the number of categories, then per category its name, its dish count and a
+     * name line and an "n id1 ... idn" line per dish.
+     */
+    public void writeMenu(Writer out) throws IOException {
+        int categories = config.getCategories();
+        int dishes = dishIngredients.length;
+        out.write(categories + "\n");
+        StringBuilder line = new StringBuilder();
+        // dishes are dealt to categories in turn, so category sizes differ by at most one
+        for (int c = 0; c < categories; c++) {
+            out.write(categoryName(c) + "\n");
+            out.write((dishes / categories + (c < dishes % categories ? 1 : 0)) + "\n");
+            for (int d = c; d < dishes; d += categories) {
+                out.write(dishName(d) + "\n");
+                line.setLength(0);
+                line.append(dishIngredients[d].length);
+                for (int i : dishIngredients[d]) line.append(' ').append(ids[i]);
+                out.write(line.append('\n').toString());
+            }
+        }
+    }
+
+    /**
+     * tables.in: the number of tables, then a "1 seats" line per table. One table always
+     * has the most seats, so every party fits somewhere.
+     */
+    public void writeTables(Writer out) throws IOException {
+        SplittableRandom random = new SplittableRandom(tablesSeed);
+        int tables = config.getTables();
+        int largest = random.nextInt(tables);
+        out.write(tables + "\n");
+        for (int t = 0; t < tables; t++) {
+            int seats = t == largest ? config.getMaxTableSeats() : 2 + random.nextInt(config.getMaxTableSeats() - 1);
+            out.write("1 " + seats + "\n");
+        }
+    }
+
+    /**
+     * seatguests.in: the number of parties, then a "size name" line per party.
+     */
+    public void writeSeatGuests(Writer out) throws IOException {
+        SplittableRandom random = new SplittableRandom(guestsSeed);
+        out.write(config.getParties() + "\n");
+        for (int p = 0; p < config.getParties(); p++) {
+            out.write((1 + random.nextInt(config.getMaxPartySize())) + " Party" + p + "\n");
+        }
+    }
+
+    /**
+     * transaction.in: the number of transactions, then an "order|donation|restock quantity name"
+     * line each. Dishes are ordered with Zipfian popularity; donations and restocks name an
+     * ingredient of a dish drawn the same way, so popular ingredients are restocked more often.
+     */
+    public void writeTransactions(Writer out) throws IOException {
+        SplittableRandom random = new SplittableRandom(transactionsSeed);
+        Zipf popularity = new Zipf(dishIngredients.length, config.getZipfExponent());
+        double donationShare = config.getDonationShare();
+        double restockShare = config.getRestockShare();
+        out.write(config.getTransactions() + "\n");
+        for (int n = 0; n < config.getTransactions(); n++) {
+            int dish = popularity.sample(random);
+            int quantity = 1 + random.nextInt(config.getMaxQuantity());
+            double kind = random.nextDouble();
+            if (kind < donationShare + restockShare) {
+                int[] ingredients = dishIngredients[dish];
+                String type = kind < donationShare ? "donation " : "restock ";
+                out.write(type + quantity + " " + ingredientName(ingredients[random.nextInt(ingredients.length)]) + "\n");
+            } else {
+                out.write("order " + quantity + " " + dishName(dish) + "\n");
+            }
+        }
+    }
+
+    private static int[] ingredientIds(GeneratorConfig config, SplittableRandom random) {
+        int n = config.getIngredients();
+        int size = config.getStockTableSize();
+        int[] ids = new int[n];
+        switch (config.getIdPattern()) {
+            case SEQUENTIAL -> {
+                for (int i = 0; i < n; i++) ids[i] = 100 + i;
+            }
+            case RANDOM -> {
+                // selection sampling: each of 1..range is kept with probability needed / left
+                int range = 10 * n;
+                int kept = 0;
+                for (int candidate = 1; kept < n; candidate++) {
+                    if (random.nextInt(range - candidate + 1) < n - kept) ids[kept++] = candidate;
+                }
+                for (int i = n - 1; i > 0; i--) {
+                    int j = random.nextInt(i + 1);
+                    int t = ids[i]; ids[i] = ids[j]; ids[j] = t;
+                }
+            }
+            case CLUSTERED -> {
+                // the used chains are spread over the table; every ID above the first row of the table
+                int chains = config.getCollisionChains();
+                int spacing = size / chains;
+                for (int i = 0; i < n; i++) {
+                    ids[i] = (i % chains) * spacing + (i / chains + 1) * size;
+                }
+            }
+        }
+        return ids;
+    }
+
+    // k distinct values in [0, n), by rejection since k is small next to n
+    private static int[] distinct(SplittableRandom random, int k, int n) {
+        int[] picked = new int[k];
+        for (int i = 0; i < k; ) {
+            int candidate = random.nextInt(n);
+            boolean seen = false;
+            for (int j = 0; j < i && !seen; j++) seen = picked[j] == candidate;
+            if (!seen) picked[i++] = candidate;
+        }
+        return picked;
+    }
+
+    // rank r (0-based) is drawn with probability proportional to 1 / (r + 1)^s
+    private static final class Zipf {
+        private final double[] cumulative;
+
+        private Zipf(int n, double s) {
+            cumulative = new double[n];
+            double sum = 0;
+            for (int r = 0; r < n; r++) {
+                sum += 1 / Math.pow(r + 1, s);
+                cumulative[r] = sum;
+            }
+        }
+
+        private int sample(SplittableRandom random) {
+            double u = random.nextDouble() * cumulative[cumulative.length - 1];
+            int lo = 0, hi = cumulative.length - 1;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (cumulative[mid] <= u) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+    }
+
+    /**
+     * Writes a data set from the command line.
+     *
+     * Usage: DataGenerator [outputDir] [name=value ...], names as in GeneratorConfig, e.g.
+     * DataGenerator target/data ingredients=1000000 dishes=200000 idPattern=clustered
+     */
+    public static void main(String[] args) throws IOException {
+        Path dir = Path.of(args.length > 0 ? args[0] : "generated");
+        GeneratorConfig config = new GeneratorConfig();
+        for (int i = 1; i < args.length; i++) {
+            int eq = args[i].indexOf('=');
+            if (eq < 0) throw new IllegalArgumentException("Expected name=value, got " + args[i]);
+            config.set(args[i].substring(0, eq), args[i].substring(eq + 1));
+        }
+        long started = System.nanoTime();
+        new DataGenerator(config).writeAll(dir);
+        System.out.printf("%,d ingredients, %,d dishes, %,d tables, %,d parties, %,d transactions in %s (%,d ms)%n",
+            config.getIngredients(), config.getDishes(), config.getTables(), config.getParties(),
+            config.getTransactions(), dir.toAbsolutePath(), (System.nanoTime() - started) / 1_000_000);
+    }
+}
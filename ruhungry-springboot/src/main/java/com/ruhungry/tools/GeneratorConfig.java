@@ -0,0 +1,165 @@
+package com.ruhungry.tools;
+
+/**
+ * Sizes and distributions of a generated data set. The defaults give a catalog ten times
+ * the bundled sample, with the same ten ingredients per stock chain.
+ */
+public class GeneratorConfig {
+
+    /**
+     * How ingredient IDs are spread over the stock hashtable, whose chain is id % stockTableSize.
+     */
+    public enum IdPattern {
+        SEQUENTIAL,   // 100, 101, 102, ... every chain gets the same share
+        RANDOM,       // distinct random IDs below 10 * ingredients
+        CLUSTERED     // only collisionChains chains get IDs, the rest stay empty
+    }
+
+    private long seed = 1;
+    private int ingredients = 1000;
+    private int stockTableSize = 100;          // first line of stock.in
+    private IdPattern idPattern = IdPattern.SEQUENTIAL;
+    private int collisionChains = 1;           // chains used by CLUSTERED
+    private int minStock = 10;
+    private int maxStock = 100;
+    private int categories = 6;
+    private int dishes = 200;
+    private int minFanOut = 2;                 // distinct ingredients per dish, uniform in [min, max]
+    private int maxFanOut = 9;
+    private int tables = 20;
+    private int maxTableSeats = 8;             // seats are uniform in 2..maxTableSeats
+    private int parties = 100;
+    private int maxPartySize = 6;              // party sizes are uniform in 1..maxPartySize
+    private int transactions = 10000;
+    private double zipfExponent = 1.0;         // dish popularity, 0 is uniform
+    private double donationShare = 0.1;        // the rest of the transactions not donations or restocks are orders
+    private double restockShare = 0.1;
+    private int maxQuantity = 5;               // quantities are uniform in 1..maxQuantity
+
+    public GeneratorConfig() {}
+
+    // Getters and setters
+    public long getSeed() { return seed; }
+    public void setSeed(long seed) { this.seed = seed; }
+
+    public int getIngredients() { return ingredients; }
+    public void setIngredients(int ingredients) { this.ingredients = ingredients; }
+
+    public int getStockTableSize() { return stockTableSize; }
+    public void setStockTableSize(int stockTableSize) { this.stockTableSize = stockTableSize; }
+
+    public IdPattern getIdPattern() { return idPattern; }
+    public void setIdPattern(IdPattern idPattern) { this.idPattern = idPattern; }
+
+    public int getCollisionChains() { return collisionChains; }
+    public void setCollisionChains(int collisionChains) { this.collisionChains = collisionChains; }
+
+    public int getMinStock() { return minStock; }
+    public void setMinStock(int minStock) { this.minStock = minStock; }
+
+    public int getMaxStock() { return maxStock; }
+    public void setMaxStock(int maxStock) { this.maxStock = maxStock; }
+
+    public int getCategories() { return categories; }
+    public void setCategories(int categories) { this.categories = categories; }
+
+    public int getDishes() { return dishes; }
+    public void setDishes(int dishes) { this.dishes = dishes; }
+
+    public int getMinFanOut() { return minFanOut; }
+    public void setMinFanOut(int minFanOut) { this.minFanOut = minFanOut; }
+
+    public int getMaxFanOut() { return maxFanOut; }
+    public void setMaxFanOut(int maxFanOut) { this.maxFanOut = maxFanOut; }
+
+    public int getTables() { return tables; }
+    public void setTables(int tables) { this.tables = tables; }
+
+    public int getMaxTableSeats() { return maxTableSeats; }
+    public void setMaxTableSeats(int maxTableSeats) { this.maxTableSeats = maxTableSeats; }
+
+    public int getParties() { return parties; }
+    public void setParties(int parties) { this.parties = parties; }
+
+    public int getMaxPartySize() { return maxPartySize; }
+    public void setMaxPartySize(int maxPartySize) { this.maxPartySize = maxPartySize; }
+
+    public int getTransactions() { return transactions; }
+    public void setTransactions(int transactions) { this.transactions = transactions; }
+
+    public double getZipfExponent() { return zipfExponent; }
+    public void setZipfExponent(double zipfExponent) { this.zipfExponent = zipfExponent; }
+
+    public double getDonationShare() { return donationShare; }
+    public void setDonationShare(double donationShare) { this.donationShare = donationShare; }
+
+    public double getRestockShare() { return restockShare; }
+    public void setRestockShare(double restockShare) { this.restockShare = restockShare; }
+
+    public int getMaxQuantity() { return maxQuantity; }
+    public void setMaxQuantity(int maxQuantity) { this.maxQuantity = maxQuantity; }
+
+    /**
+     * Sets a parameter from its name, for command lines: "dishes", "10000".
+     *
+     * @throws IllegalArgumentException if there is no such parameter or the value does not parse
+     */
+    public void set(String name, String value) {
+        switch (name) {
+            case "seed" -> seed = Long.parseLong(value);
+            case "ingredients" -> ingredients = Integer.parseInt(value);
+            case "stockTableSize" -> stockTableSize = Integer.parseInt(value);
+            case "idPattern" -> idPattern = IdPattern.valueOf(value.toUpperCase());
+            case "collisionChains" -> collisionChains = Integer.parseInt(value);
+            case "minStock" -> minStock = Integer.parseInt(value);
+            case "maxStock" -> maxStock = Integer.parseInt(value);
+            case "categories" -> categories = Integer.parseInt(value);
+            case "dishes" -> dishes = Integer.parseInt(value);
+            case "minFanOut" -> minFanOut = Integer.parseInt(value);
+            case "maxFanOut" -> maxFanOut = Integer.parseInt(value);
+            case "tables" -> tables = Integer.parseInt(value);
+            case "maxTableSeats" -> maxTableSeats = Integer.parseInt(value);
+            case "parties" -> parties = Integer.parseInt(value);
+            case "maxPartySize" -> maxPartySize = Integer.parseInt(value);
+            case "transactions" -> transactions = Integer.parseInt(value);
+            case "zipfExponent" -> zipfExponent = Double.parseDouble(value);
+            case "donationShare" -> donationShare = Double.parseDouble(value);
+            case "restockShare" -> restockShare = Double.parseDouble(value);
+            case "maxQuantity" -> maxQuantity = Integer.parseInt(value);
+            default -> throw new IllegalArgumentException("Unknown parameter: " + name);
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if a parameter is out of range
+     */
+    public void validate() {
+        if (ingredients <= 0) throw new IllegalArgumentException("ingredients must be positive");
+        if (stockTableSize <= 0) throw new IllegalArgumentException("stockTableSize must be positive");
+        if (idPattern == null) throw new IllegalArgumentException("idPattern is required");
+        if (collisionChains <= 0 || collisionChains > stockTableSize) {
+            throw new IllegalArgumentException("collisionChains must be between 1 and stockTableSize");
+        }
+        if (idPattern == IdPattern.CLUSTERED && ((long) ingredients / collisionChains + 2) * stockTableSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("ingredients / collisionChains * stockTableSize must fit in an int ID");
+        }
+        if (ingredients > Integer.MAX_VALUE / 10) throw new IllegalArgumentException("too many ingredients");
+        if (minStock < 0 || maxStock < minStock) throw new IllegalArgumentException("need 0 <= minStock <= maxStock");
+        if (categories <= 0) throw new IllegalArgumentException("categories must be positive");
+        if (dishes < categories) throw new IllegalArgumentException("need at least one dish per category");
+        if (minFanOut <= 0 || maxFanOut < minFanOut) throw new IllegalArgumentException("need 1 <= minFanOut <= maxFanOut");
+        if (maxFanOut > ingredients) throw new IllegalArgumentException("maxFanOut must not exceed ingredients");
+        if (tables <= 0) throw new IllegalArgumentException("tables must be positive");
+        if (maxTableSeats < 2) throw new IllegalArgumentException("maxTableSeats must be at least 2");
+        if (parties < 0) throw new IllegalArgumentException("parties must not be negative");
+        if (maxPartySize <= 0 || maxPartySize > maxTableSeats) {
+            throw new IllegalArgumentException("maxPartySize must be between 1 and maxTableSeats");
+        }
+        if (transactions < 0) throw new IllegalArgumentException("transactions must not be negative");
+        if (zipfExponent < 0) throw new IllegalArgumentException("zipfExponent must not be negative");
+        if (donationShare < 0 || restockShare < 0 || donationShare + restockShare > 1) {
+            throw new IllegalArgumentException("donationShare and restockShare must be shares that add up to at most 1");
+        }
+        if (maxQuantity <= 0) throw new IllegalArgumentException("maxQuantity must be positive");
+    }
+}
@@ -0,0 +1,81 @@
+package com.ruhungry.tools;
+
+import com.ruhungry.replay.ReplayFormat;
+
+/**
+ * Parameters of a load test. The defaults replay the bundled transaction files against
+ * a local instance from eight clients for thirty seconds.
+ */
+public class LoadConfig {
+    private String baseUrl = "http://localhost:8080";
+    private String file;                          // a transaction, order, donate or restock file; null for the bundled transaction*.in
+    private ReplayFormat format = ReplayFormat.TRANSACTION;
+    private int concurrency = 8;                  // clients, each sends its next request when the last one is answered
+    private int warmupSeconds = 5;                // requests are sent but not recorded
+    private int durationSeconds = 30;
+    private double readShare = 0.2;               // share of requests that go to the read endpoints instead of the file
+    private long seed = 1;                        // picks the read endpoints
+    private String histogramDir;                  // if set, a .hgrm percentile file per endpoint is written here
+
+    public LoadConfig() {}
+
+    // Getters and setters
+    public String getBaseUrl() { return baseUrl; }
+    public void setBaseUrl(String baseUrl) { this.baseUrl = baseUrl; }
+
+    public String getFile() { return file; }
+    public void setFile(String file) { this.file = file; }
+
+    public ReplayFormat getFormat() { return format; }
+    public void setFormat(ReplayFormat format) { this.format = format; }
+
+    public int getConcurrency() { return concurrency; }
+    public void setConcurrency(int concurrency) { this.concurrency = concurrency; }
+
+    public int getWarmupSeconds() { return warmupSeconds; }
+    public void setWarmupSeconds(int warmupSeconds) { this.warmupSeconds = warmupSeconds; }
+
+    public int getDurationSeconds() { return durationSeconds; }
+    public void setDurationSeconds(int durationSeconds) { this.durationSeconds = durationSeconds; }
+
+    public double getReadShare() { return readShare; }
+    public void setReadShare(double readShare) { this.readShare = readShare; }
+
+    public long getSeed() { return seed; }
+    public void setSeed(long seed) { this.seed = seed; }
+
+    public String getHistogramDir() { return histogramDir; }
+    public void setHistogramDir(String histogramDir) { this.histogramDir = histogramDir; }
+
+    /**
+     * Sets a parameter from its name, for command lines: "concurrency", "32".
+     *
+     * @throws IllegalArgumentException if there is no such parameter or the value does not parse
+     */
+    public void set(String name, String value) {
+        switch (name) {
+            case "baseUrl" -> baseUrl = value;
+            case "file" -> file = value;
+            case "format" -> format = ReplayFormat.fromName(value);
+            case "concurrency" -> concurrency = Integer.parseInt(value);
+            case "warmupSeconds" -> warmupSeconds = Integer.parseInt(value);
+            case "durationSeconds" -> durationSeconds = Integer.parseInt(value);
+            case "readShare" -> readShare = Double.parseDouble(value);
+            case "seed" -> seed = Long.parseLong(value);
+            case "histogramDir" -> histogramDir = value;
+            default -> throw new IllegalArgumentException("Unknown parameter: " + name);
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if a parameter is out of range
+     */
+    public void validate() {
+        if (baseUrl == null || baseUrl.isBlank()) throw new IllegalArgumentException("baseUrl is required");
+        if (format == null) throw new IllegalArgumentException("format is required");
+        if (concurrency <= 0 || concurrency > 10_000) throw new IllegalArgumentException("concurrency must be between 1 and 10000");
+        if (warmupSeconds < 0) throw new IllegalArgumentException("warmupSeconds must not be negative");
+        if (durationSeconds <= 0) throw new IllegalArgumentException("durationSeconds must be positive");
+        if (readShare < 0 || readShare > 1) throw new IllegalArgumentException("readShare must be between 0 and 1");
+    }
+}
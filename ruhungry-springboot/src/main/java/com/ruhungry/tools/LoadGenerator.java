@@ -0,0 +1,313 @@
+package com.ruhungry.tools;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ruhungry.dto.OrderRequest;
+import com.ruhungry.dto.RestockRequest;
+import com.ruhungry.replay.ReplayCommand;
+import com.ruhungry.replay.ReplayParser;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop load test of a running instance. Each client replays the next line of a
+ * transaction, order, donate or restock file through POST /api/orders,
+ * /api/inventory/restock or /api/inventory/donate, or with probability readShare calls
+ * one of the read endpoints, and sends its next request as soon as the last one is
+ * answered. Latency is recorded per endpoint in HdrHistograms.
+ *
+ * Because a slow response also delays the requests after it, a closed loop understates
+ * tail latency under overload; compare runs at the same concurrency, not across them.
+ */
+public class LoadGenerator {
+
+    private static final String ORDER = "POST /api/orders";
+    private static final String RESTOCK = "POST /api/inventory/restock";
+    private static final String DONATE = "POST /api/inventory/donate";
+    private static final String MENU = "GET /api/menu";
+    private static final String STOCK = "GET /api/inventory/stock";
+    private static final String PROFIT = "GET /api/orders/profit";
+    private static final String INGREDIENT = "GET /api/inventory/{name}";
+    private static final String RECIPE = "GET /api/menu/recipe/{dishName}";
+
+    private final LoadConfig config;
+    private final List<ReplayCommand> commands;
+    private final List<String> dishes = new ArrayList<>();
+    private final List<String> ingredients = new ArrayList<>();
+    private final List<String> reads = new ArrayList<>();
+    private final Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+    private final HttpClient client;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final AtomicLong nextCommand = new AtomicLong();
+    private volatile boolean recording;
+    private volatile boolean stopped;
+
+    /*
+     * Constructor, reads the whole file
+     * @param config the load to generate; it is validated here
+     */
+    public LoadGenerator(LoadConfig config) throws IOException {
+        config.validate();
+        this.config = config;
+        this.commands = readCommands(config);
+        if (commands.isEmpty()) throw new IllegalArgumentException("The file has no commands");
+
+        for (ReplayCommand command : commands) {
+            List<String> names = command.getType() == ReplayCommand.Type.ORDER ? dishes : ingredients;
+            if (names.size() < 1000 && !names.contains(command.getItem())) names.add(command.getItem());
+        }
+        for (String name : List.of(ORDER, RESTOCK, DONATE)) endpoints.put(name, new Endpoint());
+        reads.add(MENU);
+        reads.add(STOCK);
+        reads.add(PROFIT);
+        if (!ingredients.isEmpty()) reads.add(INGREDIENT);
+        if (!dishes.isEmpty()) reads.add(RECIPE);
+        for (String name : reads) endpoints.put(name, new Endpoint());
+
+        client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    }
+
+    /**
+     * Warms up, then records for the configured duration.
+     *
+     * @return the latency histogram, in microseconds, and error count of every endpoint
+     *         that was called while recording
+     */
+    public Map<String, Result> run() throws InterruptedException {
+        SplittableRandom seeds = new SplittableRandom(config.getSeed());
+        Thread[] clients = new Thread[config.getConcurrency()];
+        for (int i = 0; i < clients.length; i++) {
+            SplittableRandom random = seeds.split();
+            clients[i] = new Thread(() -> loop(random), "load-" + i);
+            clients[i].setDaemon(true);
+            clients[i].start();
+        }
+
+        Thread.sleep(config.getWarmupSeconds() * 1000L);
+        recording = true;
+        for (Endpoint endpoint : endpoints.values()) endpoint.discard();
+        Thread.sleep(config.getDurationSeconds() * 1000L);
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (Map.Entry<String, Endpoint> e : endpoints.entrySet()) {
+            Result result = e.getValue().result();
+            if (result.histogram.getTotalCount() > 0 || result.errors > 0) results.put(e.getKey(), result);
+        }
+        stopped = true;
+        for (Thread t : clients) t.join(10_000);
+        return results;
+    }
+
+    /**
+     * Responses and errors of one endpoint while recording.
+     */
+    public static final class Result {
+        private final Histogram histogram;   // microseconds
+        private final long errors;           // 4xx and 5xx responses, timeouts and failed connections
+
+        private Result(Histogram histogram, long errors) {
+            this.histogram = histogram;
+            this.errors = errors;
+        }
+
+        public Histogram getHistogram() { return histogram; }
+
+        public long getErrors() { return errors; }
+    }
+
+    private static final class Endpoint {
+        private final Recorder recorder = new Recorder(3);
+        private final LongAdder errors = new LongAdder();
+
+        private void discard() {
+            recorder.getIntervalHistogram();
+            errors.reset();
+        }
+
+        private Result result() {
+            return new Result(recorder.getIntervalHistogram(), errors.sum());
+        }
+    }
+
+    private void loop(SplittableRandom random) {
+        while (!stopped) {
+            String name;
+            HttpRequest request;
+            try {
+                if (random.nextDouble() < config.getReadShare()) {
+                    name = reads.get(random.nextInt(reads.size()));
+                    request = readRequest(name, random);
+                } else {
+                    ReplayCommand command = commands.get((int) (nextCommand.getAndIncrement() % commands.size()));
+                    name = switch (command.getType()) {
+                        case ORDER -> ORDER;
+                        case RESTOCK -> RESTOCK;
+                        case DONATION -> DONATE;
+                    };
+                    request = writeRequest(command);
+                }
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+
+            Endpoint endpoint = endpoints.get(name);
+            long started = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                long micros = (System.nanoTime() - started) / 1000;
+                if (recording) {
+                    endpoint.recorder.recordValue(micros);
+                    if (response.statusCode() >= 400) endpoint.errors.increment();
+                }
+            } catch (IOException e) {
+                if (recording) endpoint.errors.increment();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private HttpRequest writeRequest(ReplayCommand command) throws JsonProcessingException {
+        String path;
+        Object body;
+        switch (command.getType()) {
+            case ORDER -> {
+                path = "/api/orders";
+                body = new OrderRequest(command.getItem(), command.getQuantity());
+            }
+            case RESTOCK -> {
+                path = "/api/inventory/restock";
+                body = new RestockRequest(command.getItem(), command.getQuantity());
+            }
+            default -> {
+                path = "/api/inventory/donate";
+                body = new RestockRequest(command.getItem(), command.getQuantity());
+            }
+        }
+        return HttpRequest.newBuilder(URI.create(config.getBaseUrl() + path))
+            .timeout(Duration.ofSeconds(30))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body)))
+            .build();
+    }
+
+    private HttpRequest readRequest(String name, SplittableRandom random) {
+        String path = switch (name) {
+            case MENU -> "/api/menu";
+            case STOCK -> "/api/inventory/stock";
+            case PROFIT -> "/api/orders/profit";
+            case INGREDIENT -> "/api/inventory/" + encode(ingredients.get(random.nextInt(ingredients.size())));
+            default -> "/api/menu/recipe/" + encode(dishes.get(random.nextInt(dishes.size())));
+        };
+        return HttpRequest.newBuilder(URI.create(config.getBaseUrl() + path))
+            .timeout(Duration.ofSeconds(30))
+            .GET()
+            .build();
+    }
+
+    private static String encode(String name) {
+        return URLEncoder.encode(name, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    private static List<ReplayCommand> readCommands(LoadConfig config) throws IOException {
+        List<ReplayCommand> commands = new ArrayList<>();
+        if (config.getFile() != null) {
+            try (InputStream in = Files.newInputStream(Path.of(config.getFile()))) {
+                readCommands(in, config, commands);
+            }
+            return commands;
+        }
+        for (int i = 1; i <= 4; i++) {
+            try (InputStream in = LoadGenerator.class.getClassLoader().getResourceAsStream("data/transaction" + i + ".in")) {
+                if (in == null) throw new IOException("Missing resource data/transaction" + i + ".in");
+                readCommands(in, config, commands);
+            }
+        }
+        return commands;
+    }
+
+    private static void readCommands(InputStream in, LoadConfig config, List<ReplayCommand> commands) throws IOException {
+        ReplayParser parser = new ReplayParser(in, config.getFormat());
+        ReplayCommand command;
+        while ((command = parser.next()) != null) commands.add(command);
+    }
+
+    /**
+     * Prints one row per endpoint and a total row; latencies in milliseconds.
+     */
+    public static void print(Map<String, Result> results, int seconds, PrintStream out) {
+        out.printf("%-32s %10s %8s %10s %9s %9s %9s %9s %9s%n",
+            "endpoint", "requests", "errors", "req/s", "p50", "p90", "p99", "p99.9", "max");
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        for (Map.Entry<String, Result> e : results.entrySet()) {
+            print(e.getKey(), e.getValue().histogram, e.getValue().errors, seconds, out);
+            total.add(e.getValue().histogram);
+            totalErrors += e.getValue().errors;
+        }
+        print("all", total, totalErrors, seconds, out);
+    }
+
+    private static void print(String name, Histogram h, long errors, int seconds, PrintStream out) {
+        out.printf("%-32s %,10d %,8d %,10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+            name, h.getTotalCount(), errors, (double) h.getTotalCount() / seconds,
+            h.getValueAtPercentile(50) / 1000.0, h.getValueAtPercentile(90) / 1000.0,
+            h.getValueAtPercentile(99) / 1000.0, h.getValueAtPercentile(99.9) / 1000.0,
+            h.getMaxValue() / 1000.0);
+    }
+
+    /**
+     * Runs a load test from the command line and prints the results.
+     *
+     * Usage: LoadGenerator [name=value ...], names as in LoadConfig, e.g.
+     * LoadGenerator file=target/data/transaction.in concurrency=32 durationSeconds=60
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        LoadConfig config = new LoadConfig();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq < 0) throw new IllegalArgumentException("Expected name=value, got " + arg);
+            config.set(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        LoadGenerator generator = new LoadGenerator(config);
+        System.out.printf("%,d commands, %d clients, %d s warm-up, %d s against %s%n", generator.commands.size(),
+            config.getConcurrency(), config.getWarmupSeconds(), config.getDurationSeconds(), config.getBaseUrl());
+
+        Map<String, Result> results = generator.run();
+        print(results, config.getDurationSeconds(), System.out);
+
+        if (config.getHistogramDir() != null) {
+            Path dir = Files.createDirectories(Path.of(config.getHistogramDir()));
+            for (Map.Entry<String, Result> e : results.entrySet()) {
+                String file = e.getKey().toLowerCase().replaceAll("[^a-z0-9]+", "_").replaceAll("^_|_$", "") + ".hgrm";
+                try (PrintStream out = new PrintStream(Files.newOutputStream(dir.resolve(file)), false, StandardCharsets.UTF_8)) {
+                    e.getValue().histogram.outputPercentileDistribution(out, 1000.0);
+                }
+            }
+            System.out.println("Percentile distributions (ms) written to " + dir.toAbsolutePath());
+        }
+    }
+}
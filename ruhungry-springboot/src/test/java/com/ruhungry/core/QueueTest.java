@@ -0,0 +1,96 @@
+package com.ruhungry.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QueueTest {
+
+    private static <T> List<T> items(Iterable<T> queue) {
+        List<T> items = new ArrayList<>();
+        for (T item : queue) items.add(item);
+        return items;
+    }
+
+    @Test
+    void behavesLikeAFifoThroughWrapGrowAndShrink() {
+        SplittableRandom random = new SplittableRandom(33);
+        Queue<Integer> queue = new Queue<>();
+        ArrayDeque<Integer> model = new ArrayDeque<>();
+        for (int step = 0; step < 20_000; step++) {
+            // phases of mostly enqueue, then mostly dequeue, so the array grows, wraps and shrinks
+            boolean filling = (step / 2_000) % 2 == 0;
+            if (model.isEmpty() || random.nextInt(10) < (filling ? 7 : 3)) {
+                queue.enqueue(step);
+                model.addLast(step);
+            } else {
+                assertEquals(model.peekFirst(), queue.peek());
+                assertEquals(model.removeFirst(), queue.dequeue());
+            }
+            assertEquals(model.size(), queue.size());
+            if (step % 997 == 0) assertEquals(new ArrayList<>(model), items(queue));
+        }
+        assertEquals(new ArrayList<>(model), items(queue));
+    }
+
+    @Test
+    void addAllAppendsAWrappedQueueInOrder() {
+        Queue<Integer> source = new Queue<>(8);
+        for (int i = 0; i < 6; i++) source.enqueue(i);
+        for (int i = 0; i < 5; i++) source.dequeue();
+        for (int i = 6; i < 12; i++) source.enqueue(i); // wraps around the end of the array
+
+        Queue<Integer> target = new Queue<>();
+        target.enqueue(-1);
+        target.addAll(source);
+        target.addAll(List.of(100, 101));
+
+        assertEquals(List.of(-1, 5, 6, 7, 8, 9, 10, 11, 100, 101), items(target));
+        assertEquals(List.of(5, 6, 7, 8, 9, 10, 11), items(source));
+    }
+
+    @Test
+    void drainToMovesEverythingAndEmptiesTheSource() {
+        Queue<String> source = new Queue<>();
+        for (int i = 0; i < 40; i++) source.enqueue("p" + i);
+        Queue<String> target = new Queue<>();
+        target.enqueue("first");
+
+        assertEquals(40, source.drainTo(target));
+        assertTrue(source.isEmpty());
+        assertEquals(41, target.size());
+        assertEquals("first", target.dequeue());
+        assertEquals("p0", target.peek());
+
+        source.enqueue("again");
+        assertEquals(List.of("again"), items(source));
+        assertThrows(IllegalArgumentException.class, () -> target.drainTo(target));
+    }
+
+    @Test
+    void emptyQueueUnderflows() {
+        Queue<Integer> queue = new Queue<>();
+        assertTrue(queue.isEmpty());
+        assertThrows(NoSuchElementException.class, queue::dequeue);
+        assertThrows(NoSuchElementException.class, queue::peek);
+        Iterator<Integer> iterator = queue.iterator();
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    void rejectsCapacitiesAboveTheLargestArray() {
+        assertThrows(IllegalArgumentException.class, () -> new Queue<Integer>(Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> new Queue<Integer>((1 << 30) + 1));
+    }
+}
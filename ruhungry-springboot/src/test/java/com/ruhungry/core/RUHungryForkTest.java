@@ -0,0 +1,98 @@
+package com.ruhungry.core;
+
+import com.ruhungry.simulation.DaySimulator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RUHungryForkTest {
+
+    private RUHungry live;
+    private Ingredient ingredient;
+    private int startLevel;
+
+    @BeforeEach
+    void load() throws IOException {
+        live = DaySimulator.loadRestaurant("tables1.in");
+        for (StockNode chain : live.getStockVar()) {
+            if (chain != null) {
+                ingredient = chain.getIngredient();
+                break;
+            }
+        }
+        startLevel = ingredient.getStockLevel();
+    }
+
+    private int levelIn(RUHungry restaurant) {
+        return restaurant.findStockNode(ingredient.getID()).getIngredient().getStockLevel();
+    }
+
+    @Test
+    void forkKeepsTheLevelsItWasMadeWith() {
+        RUHungry fork = live.fork();
+        live.updateStock(ingredient.getName(), -1, -7);
+        live.updateStock(null, ingredient.getID(), 3);
+
+        assertEquals(startLevel - 4, levelIn(live));
+        assertEquals(startLevel, levelIn(fork));
+        assertEquals(startLevel, fork.findStockNode(ingredient.getName()).getIngredient().getStockLevel());
+    }
+
+    @Test
+    void forkChangesStartFromItsOwnLevels() {
+        RUHungry fork = live.fork();
+        live.updateStock(ingredient.getName(), -1, -7);
+        fork.updateStock(ingredient.getName(), -1, 2);
+
+        assertEquals(startLevel - 7, levelIn(live));
+        assertEquals(startLevel + 2, levelIn(fork));
+    }
+
+    @Test
+    void forkOfAForkKeepsItsLevelsToo() {
+        RUHungry fork = live.fork();
+        fork.updateStock(ingredient.getName(), -1, 5);
+        RUHungry child = fork.fork();
+        RUHungry sibling = live.fork();
+        live.updateStock(ingredient.getName(), -1, -7);
+        fork.updateStock(ingredient.getName(), -1, 1);
+
+        assertEquals(startLevel + 5, levelIn(child));
+        assertEquals(startLevel, levelIn(sibling));
+    }
+
+    @Test
+    void liveChangesAreNotReportedAsForkChanges() {
+        RUHungry fork = live.fork();
+        live.updateStock(ingredient.getName(), -1, -7);
+
+        Map<Integer, Integer> deltas = new HashMap<>();
+        fork.forEachForkedIngredient((copy, before) -> deltas.put(copy.getID(), copy.getStockLevel() - before));
+        assertEquals(Map.of(ingredient.getID(), 0), deltas);
+    }
+
+    @Test
+    void ingredientsAddedLaterAreNotInTheFork() {
+        RUHungry fork = live.fork();
+        live.addStockNode(new StockNode(new Ingredient(9999, "Saffron", 5, 1.0), null));
+
+        assertNotNull(live.findStockNode("Saffron"));
+        assertNull(fork.findStockNode("Saffron"));
+    }
+
+    @Test
+    void releasedForkReadsTheSharedStock() {
+        RUHungry fork = live.fork();
+        fork.release();
+        live.updateStock(ingredient.getName(), -1, -7);
+
+        assertEquals(startLevel - 7, levelIn(fork));
+    }
+}
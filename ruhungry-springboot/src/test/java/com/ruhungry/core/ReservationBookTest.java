@@ -0,0 +1,107 @@
+package com.ruhungry.core;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReservationBookTest {
+
+    private ReservationBook book;
+
+    @BeforeEach
+    void tables() {
+        book = new ReservationBook(new int[] { 2, 4, 4, 8 });
+    }
+
+    @Test
+    void booksTheLowestTableThatFits() {
+        assertEquals(0, book.book("Patel", 2, 100, 200).getTable());
+        assertEquals(1, book.book("Kim", 3, 100, 200).getTable());
+        assertEquals(2, book.book("Lee", 2, 100, 200).getTable());
+        assertEquals(3, book.book("Ortiz", 4, 100, 200).getTable());
+        assertNull(book.book("Nguyen", 1, 150, 250));
+    }
+
+    @Test
+    void overlappingBookingsConflictButTouchingOnesDoNot() {
+        book.book("Patel", 2, 0, 100, 200);
+
+        assertFalse(book.isFree(0, 150, 160));
+        assertFalse(book.isFree(0, 50, 101));
+        assertFalse(book.isFree(0, 199, 300));
+        assertFalse(book.isFree(0, 50, 300));
+        assertTrue(book.isFree(0, 200, 300));
+        assertTrue(book.isFree(0, 0, 100));
+        assertNull(book.book("Kim", 2, 0, 150, 250));
+        assertNotNull(book.book("Kim", 2, 0, 200, 250));
+    }
+
+    @Test
+    void findTableSkipsBookedAndSmallTables() {
+        book.book("Patel", 4, 1, 100, 200);
+
+        assertEquals(2, book.findTable(3, 150, 180));
+        assertEquals(1, book.findTable(3, 200, 300));
+        assertEquals(3, book.findTable(5, 0, 10));
+        assertEquals(-1, book.findTable(9, 0, 10));
+    }
+
+    @Test
+    void cancelFreesTheTable() {
+        Reservation reservation = book.book("Patel", 2, 0, 100, 200);
+
+        assertEquals(reservation, book.cancel(reservation.getId()));
+        assertNull(book.cancel(reservation.getId()));
+        assertTrue(book.isFree(0, 100, 200));
+        assertNull(book.getReservation(reservation.getId()));
+        assertTrue(book.pollDue(1000).isEmpty());
+    }
+
+    @Test
+    void pollDueReturnsStartedBookingsOnceInStartOrder() {
+        Reservation late = book.book("Kim", 2, 1, 300, 400);
+        Reservation early = book.book("Patel", 2, 0, 100, 200);
+        book.book("Lee", 2, 2, 500, 600);
+
+        assertEquals(List.of(early, late), book.pollDue(300));
+        assertTrue(book.pollDue(300).isEmpty());
+        assertFalse(book.isFree(1, 300, 400), "a started booking stays on its table");
+    }
+
+    @Test
+    void removeEndedBeforeForgetsOnlyEndedBookings() {
+        Reservation ended = book.book("Patel", 2, 0, 100, 200);
+        Reservation current = book.book("Kim", 2, 0, 200, 400);
+
+        assertEquals(1, book.removeEndedBefore(300));
+        assertNull(book.getReservation(ended.getId()));
+        assertEquals(current, book.getReservation(current.getId()));
+        assertEquals(1, book.size());
+    }
+
+    @Test
+    void getReservationsIncludesABookingStartedBeforeTheRange() {
+        Reservation first = book.book("Patel", 2, 0, 100, 200);
+        Reservation second = book.book("Kim", 2, 0, 300, 400);
+
+        assertEquals(List.of(first, second), book.getReservations(0, 150, 350));
+        assertEquals(List.of(second), book.getReservations(0, 200, 350));
+    }
+
+    @Test
+    void rejectsInvalidRequests() {
+        assertThrows(IllegalArgumentException.class, () -> book.book("Patel", 0, 100, 200));
+        assertThrows(IllegalArgumentException.class, () -> book.book("Patel", 2, 200, 200));
+        assertThrows(IllegalArgumentException.class, () -> book.findTable(2, 300, 200));
+        assertThrows(IllegalArgumentException.class, () -> book.book("Patel", 2, 4, 100, 200));
+        assertThrows(IllegalArgumentException.class, () -> book.book("Patel", 3, 0, 100, 200));
+    }
+}
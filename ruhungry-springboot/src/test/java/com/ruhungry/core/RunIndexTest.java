@@ -0,0 +1,74 @@
+package com.ruhungry.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RunIndexTest {
+
+    /* The lowest table that starts a run of adjacent free tables holding at least n seats. */
+    private static int bruteForce(int[] seats, int n) {
+        for (int start = 0; start < seats.length; start++) {
+            int total = 0;
+            for (int t = start; t < seats.length && seats[t] > 0; t++) {
+                total += seats[t];
+                if (total >= n) return start;
+            }
+        }
+        return -1;
+    }
+
+    private static void assertMatches(RunIndex index, int[] seats, int maxNeeded) {
+        for (int n = 1; n <= maxNeeded; n++) {
+            assertEquals(bruteForce(seats, n), index.firstRunOfAtLeast(n), "n=" + n);
+        }
+    }
+
+    @Test
+    void startsWithEveryTableOccupied() {
+        RunIndex index = new RunIndex(5);
+        assertEquals(-1, index.firstRunOfAtLeast(1));
+    }
+
+    @Test
+    void mergesRunsAcrossNodeBoundaries() {
+        int[] seats = new int[8];
+        RunIndex index = new RunIndex(seats.length);
+        // a run that is the suffix of the left half and the prefix of the right half
+        for (int t = 2; t <= 5; t++) {
+            seats[t] = 2;
+            index.set(t, 2);
+        }
+        assertEquals(2, index.firstRunOfAtLeast(8));
+        assertEquals(-1, index.firstRunOfAtLeast(9));
+        assertMatches(index, seats, 10);
+
+        // filling the gap joins the left prefix onto the crossing run
+        seats[0] = 1; index.set(0, 1);
+        seats[1] = 1; index.set(1, 1);
+        assertEquals(0, index.firstRunOfAtLeast(10));
+
+        // occupying a middle table splits it again; the best run is now on the right
+        seats[3] = 0; index.set(3, 0);
+        seats[6] = 4; index.set(6, 4);
+        assertEquals(4, index.firstRunOfAtLeast(6));
+        assertMatches(index, seats, 12);
+    }
+
+    @Test
+    void agreesWithBruteForceUnderRandomUpdates() {
+        SplittableRandom random = new SplittableRandom(35);
+        for (int tables : new int[] {1, 2, 3, 7, 8, 13, 32, 50}) {
+            int[] seats = new int[tables];
+            RunIndex index = new RunIndex(tables);
+            for (int step = 0; step < 400; step++) {
+                int t = random.nextInt(tables);
+                seats[t] = random.nextInt(3) == 0 ? 0 : 1 + random.nextInt(6);
+                index.set(t, seats[t]);
+                assertMatches(index, seats, 40);
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.ruhungry.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SeatingEngineTest {
+
+    /*
+     * The seatAllGuests algorithm as specified: for each party, scan tableSeats from index 0
+     * for a free table that fits, else for an occupied table that fits and move its party to
+     * the left parties; at the end every seated party leaves in table order.
+     */
+    private static List<Party> specifiedSeating(int[] tableSeats, Party[] tables, List<Party> line) {
+        List<Party> left = new ArrayList<>();
+        for (Party party : line) {
+            int table = -1;
+            for (int t = 0; t < tableSeats.length && table < 0; t++) {
+                if (tables[t] == null && tableSeats[t] >= party.getNumberOfPeople()) table = t;
+            }
+            for (int t = 0; t < tableSeats.length && table < 0; t++) {
+                if (tableSeats[t] >= party.getNumberOfPeople()) {
+                    left.add(tables[t]);
+                    table = t;
+                }
+            }
+            tables[table] = party;
+        }
+        for (int t = 0; t < tables.length; t++) {
+            if (tables[t] != null) left.add(tables[t]);
+            tables[t] = null;
+        }
+        return left;
+    }
+
+    @Test
+    void matchesTheSpecifiedSeatingOrder() {
+        SplittableRandom random = new SplittableRandom(31);
+        for (int round = 0; round < 200; round++) {
+            int[] tableSeats = new int[1 + random.nextInt(40)];
+            int largest = 0;
+            for (int t = 0; t < tableSeats.length; t++) {
+                tableSeats[t] = 1 + random.nextInt(8);
+                largest = Math.max(largest, tableSeats[t]);
+            }
+            List<Party> line = new ArrayList<>();
+            for (int p = random.nextInt(120); p > 0; p--) {
+                line.add(new Party(1 + random.nextInt(largest), "Party " + p, -1));
+            }
+
+            List<Party> expected = specifiedSeating(tableSeats, new Party[tableSeats.length], line);
+
+            Party[] tables = new Party[tableSeats.length];
+            SeatingEngine engine = new SeatingEngine(tableSeats, tables);
+            List<Party> left = new ArrayList<>();
+            for (Party party : line) {
+                int table = engine.seat(party, left::add);
+                assertSame(party, tables[table]);
+                assertEquals(table, party.getTableIndex());
+            }
+            engine.emptyTables(left::add);
+
+            assertEquals(expected, left, "round " + round);
+            assertArrayEquals(new Party[tableSeats.length], tables);
+        }
+    }
+
+    @Test
+    void seatIfFreeNeverRemovesAnyone() {
+        Party[] tables = new Party[2];
+        SeatingEngine engine = new SeatingEngine(new int[] { 2, 4 }, tables);
+        Party first = new Party(3, "Kim", -1);
+
+        assertEquals(1, engine.seatIfFree(first));
+        assertEquals(-1, engine.seatIfFree(new Party(4, "Lee", -1)));
+        assertSame(first, tables[1]);
+        assertEquals(0, engine.seatIfFree(new Party(1, "Ortiz", -1)));
+    }
+
+    @Test
+    void heldTablesTakeOnlyTheirReservation() {
+        Party[] tables = new Party[3];
+        SeatingEngine engine = new SeatingEngine(new int[] { 4, 4, 4 }, tables);
+        engine.hold(0);
+        Party reserved = new Party(2, "Patel", 0);
+        engine.seatAt(0, reserved);
+
+        List<Party> left = new ArrayList<>();
+        assertEquals(1, engine.seat(new Party(2, "Kim", -1), left::add));
+        assertEquals(2, engine.seat(new Party(2, "Lee", -1), left::add));
+        assertEquals(1, engine.seat(new Party(2, "Ortiz", -1), left::add));
+        assertEquals("Kim", left.get(0).getName());
+        assertSame(reserved, tables[0]);
+        assertThrows(IllegalArgumentException.class, () -> engine.seatAt(1, new Party(2, "Nguyen", 1)));
+    }
+
+    @Test
+    void combinedTablesSeatALargePartyAtTheFirstFreeRun() {
+        Party[] tables = new Party[4];
+        SeatingEngine engine = new SeatingEngine(new int[] { 2, 4, 4, 2 }, tables, true);
+        List<Party> left = new ArrayList<>();
+        Party small = new Party(2, "Kim", -1);
+        engine.seat(small, left::add);
+
+        Party large = new Party(9, "Patel", -1);
+        assertEquals(1, engine.seat(large, left::add));
+        assertSame(large, tables[1]);
+        assertSame(large, tables[3]);
+        assertEquals(large, engine.vacate(2));
+        assertNull(tables[1]);
+        assertNull(tables[3]);
+        assertSame(small, tables[0]);
+    }
+
+    @Test
+    void rejectsPartiesNoTableFitsAndEmptyParties() {
+        SeatingEngine engine = new SeatingEngine(new int[] { 2, 4 }, new Party[2]);
+
+        assertThrows(IllegalArgumentException.class, () -> engine.seat(new Party(5, "Kim", -1), p -> { }));
+        assertThrows(IllegalArgumentException.class, () -> engine.seat(new Party(0, "Lee", -1), p -> { }));
+        assertThrows(IllegalArgumentException.class, () -> engine.seatIfFree(new Party(-1, "Ortiz", -1)));
+    }
+}
@@ -0,0 +1,60 @@
+package com.ruhungry.replay;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplayParserTest {
+
+    private static ReplayParser parser(ReplayFormat format, String text) throws IOException {
+        return new ReplayParser(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), format);
+    }
+
+    @Test
+    void readsEachFormat() throws IOException {
+        ReplayParser transactions = parser(ReplayFormat.TRANSACTION, "2\norder 3 Mozzarella Sticks\n\nrestock 10 Cheese\n");
+        ReplayCommand order = transactions.next();
+        assertEquals(ReplayCommand.Type.ORDER, order.getType());
+        assertEquals(3, order.getQuantity());
+        assertEquals("Mozzarella Sticks", order.getItem());
+        assertEquals(ReplayCommand.Type.RESTOCK, transactions.next().getType());
+        assertNull(transactions.next());
+
+        ReplayCommand donation = parser(ReplayFormat.DONATION, "1\n4 Lettuce\n").next();
+        assertEquals(ReplayCommand.Type.DONATION, donation.getType());
+        assertEquals(4, donation.getQuantity());
+    }
+
+    @Test
+    void rejectsQuantitiesBelowOneWithTheLineNumber() throws IOException {
+        for (String quantity : new String[] {"0", "-2"}) {
+            ReplayParser orders = parser(ReplayFormat.ORDER, "2\n1 Fries\n" + quantity + " Fries\n");
+            orders.next();
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, orders::next);
+            assertTrue(e.getMessage().startsWith("Line 3: expected \"quantity name\""), e.getMessage());
+        }
+        ReplayParser transactions = parser(ReplayFormat.TRANSACTION, "1\ndonation 0 Lettuce\n");
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, transactions::next);
+        assertTrue(e.getMessage().startsWith("Line 2: expected \"type quantity name\""), e.getMessage());
+    }
+
+    @Test
+    void rejectsMalformedLinesAndExtraLines() throws IOException {
+        assertThrows(IllegalArgumentException.class, () -> parser(ReplayFormat.ORDER, "two\n"));
+        assertThrows(IllegalArgumentException.class, () -> parser(ReplayFormat.ORDER, "1\nFries\n").next());
+        assertThrows(IllegalArgumentException.class, () -> parser(ReplayFormat.ORDER, "1\nx Fries\n").next());
+        assertThrows(IllegalArgumentException.class,
+            () -> parser(ReplayFormat.TRANSACTION, "1\nrefund 1 Fries\n").next());
+
+        ReplayParser extra = parser(ReplayFormat.ORDER, "1\n1 Fries\n1 Fries\n");
+        extra.next();
+        assertThrows(IllegalArgumentException.class, extra::next);
+    }
+}
@@ -0,0 +1,123 @@
+package com.ruhungry.service;
+
+import com.ruhungry.core.Ingredient;
+import com.ruhungry.core.TransactionData;
+import com.ruhungry.dto.ChangesResponse;
+import com.ruhungry.dto.StockResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ChangeJournalTest {
+
+    private static final long START = 10;
+
+    private ChangeJournal journal;
+
+    @BeforeEach
+    void start() {
+        journal = journal(4);
+    }
+
+    private static ChangeJournal journal(int capacity) {
+        RestaurantService restaurantService = mock(RestaurantService.class);
+        when(restaurantService.getVersion()).thenReturn(START);
+        ChangeJournal journal = new ChangeJournal(capacity);
+        ReflectionTestUtils.setField(journal, "restaurantService", restaurantService);
+        journal.start();
+        return journal;
+    }
+
+    private static Ingredient ingredient(int id, int stockLevel) {
+        return new Ingredient(id, "Ingredient " + id, stockLevel, 1.0);
+    }
+
+    private static List<Integer> ids(ChangesResponse changes) {
+        return changes.getIngredients().stream().map(StockResponse::getId).toList();
+    }
+
+    @Test
+    void returnsTheChangesAfterTheGivenVersion() {
+        journal.stockChanged(ingredient(1, 5), -1, START + 1);
+        journal.transactionAdded(new TransactionData("order", "Fries", 1, 2.0, true), START + 2);
+        journal.stockChanged(ingredient(2, 7), 3, START + 3);
+
+        ChangesResponse all = journal.changesSince(START);
+        assertFalse(all.isFullSnapshot());
+        assertEquals(START + 3, all.getVersion());
+        assertEquals(List.of(1, 2), ids(all));
+        assertEquals(1, all.getTransactions().size());
+
+        ChangesResponse later = journal.changesSince(START + 2);
+        assertEquals(List.of(2), ids(later));
+        assertTrue(later.getTransactions().isEmpty());
+    }
+
+    @Test
+    void versionStopsBeforeAChangeThatIsStillOnItsWay() {
+        journal.stockChanged(ingredient(2, 7), 3, START + 2);
+
+        ChangesResponse early = journal.changesSince(START);
+        assertEquals(START, early.getVersion());
+        assertTrue(early.getIngredients().isEmpty());
+
+        journal.stockChanged(ingredient(1, 5), -1, START + 1);
+        ChangesResponse caughtUp = journal.changesSince(early.getVersion());
+        assertEquals(START + 2, caughtUp.getVersion());
+        assertEquals(List.of(2, 1), ids(caughtUp));
+    }
+
+    @Test
+    void changesMadeBeforeRecordingStartedAreIgnored() {
+        journal.stockChanged(ingredient(1, 5), -1, START);
+
+        ChangesResponse changes = journal.changesSince(START);
+        assertEquals(START, changes.getVersion());
+        assertTrue(changes.getIngredients().isEmpty());
+    }
+
+    @Test
+    void wrapsAroundAndFallsBackToAFullSnapshot() {
+        for (int i = 1; i <= 6; i++) {
+            journal.stockChanged(ingredient(i, i), 1, START + i);
+        }
+
+        // versions START+1 and START+2 were overwritten
+        assertTrue(journal.changesSince(START).isFullSnapshot());
+        assertTrue(journal.changesSince(START + 1).isFullSnapshot());
+        ChangesResponse kept = journal.changesSince(START + 2);
+        assertFalse(kept.isFullSnapshot());
+        assertEquals(List.of(3, 4, 5, 6), ids(kept));
+        assertEquals(START + 6, kept.getVersion());
+    }
+
+    @Test
+    void stockReloadAndUnknownVersionsAskForAFullSnapshot() {
+        journal.stockChanged(ingredient(1, 5), -1, START + 1);
+        journal.stockReloaded(START + 2);
+
+        assertTrue(journal.changesSince(START).isFullSnapshot());
+        assertFalse(journal.changesSince(START + 2).isFullSnapshot());
+        assertTrue(journal.changesSince(START + 3).isFullSnapshot());
+    }
+
+    @Test
+    void clearedTransactionsDropTheOnesBeforeThem() {
+        journal.transactionAdded(new TransactionData("order", "Fries", 1, 2.0, true), START + 1);
+        journal.transactionsCleared(START + 2);
+        journal.transactionAdded(new TransactionData("order", "Soup", 1, 3.0, true), START + 3);
+
+        ChangesResponse changes = journal.changesSince(START);
+        assertTrue(changes.isTransactionsCleared());
+        assertEquals(1, changes.getTransactions().size());
+        assertEquals("Soup", changes.getTransactions().get(0).getItem());
+    }
+}
@@ -0,0 +1,139 @@
+package com.ruhungry.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdempotencyCacheTest {
+
+    private final IdempotencyCache cache = new IdempotencyCache(100, Duration.ofMinutes(10));
+    private final AtomicInteger runs = new AtomicInteger();
+
+    private Integer write() {
+        return runs.incrementAndGet();
+    }
+
+    @Test
+    void replaysTheFirstResultForTheSameRequest() {
+        assertEquals(1, cache.execute("order", "k1", "Fries\n2", this::write));
+        assertEquals(1, cache.execute("order", "k1", "Fries\n2", this::write));
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void runsEveryCallWithoutAKey() {
+        cache.execute("order", null, "Fries\n2", this::write);
+        cache.execute("order", " ", "Fries\n2", this::write);
+        assertEquals(2, runs.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void keysAreScopedByOperation() {
+        cache.execute("restock", "k1", "Fries\n2", this::write);
+        cache.execute("donate", "k1", "Fries\n2", this::write);
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void refusesAKeyReusedForADifferentRequest() {
+        cache.execute("order", "k1", "Fries\n2", this::write);
+        assertThrows(IdempotencyKeyMismatchException.class,
+            () -> cache.execute("order", "k1", "Fries\n3", this::write));
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void rejectsAnOverlongKeyWithoutRunning() {
+        String key = "k".repeat(IdempotencyCache.MAX_KEY_LENGTH + 1);
+        assertThrows(InvalidIdempotencyKeyException.class,
+            () -> cache.execute("order", key, "Fries\n2", this::write));
+        assertEquals(0, runs.get());
+    }
+
+    @Test
+    void aFailedWriteCanBeRetried() {
+        assertThrows(IllegalStateException.class, () -> cache.execute("order", "k1", "Fries\n2", () -> {
+            throw new IllegalStateException("out of stock");
+        }));
+        assertEquals(1, cache.execute("order", "k1", "Fries\n2", this::write));
+    }
+
+    @Test
+    void concurrentRetriesWaitForTheWriteInFlight() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> first = pool.submit(() -> cache.execute("order", "k1", "Fries\n2", () -> {
+                started.countDown();
+                await(release);
+                return write();
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<Integer> retry = pool.submit(() -> cache.execute("order", "k1", "Fries\n2", this::write));
+            Thread.sleep(50);
+            assertFalse(retry.isDone(), "retry should wait for the first call");
+
+            release.countDown();
+            assertEquals(1, first.get(5, TimeUnit.SECONDS));
+            assertEquals(1, retry.get(5, TimeUnit.SECONDS));
+            assertEquals(1, runs.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void evictsCompletedEntriesButNotOnesInFlight() throws Exception {
+        IdempotencyCache small = new IdempotencyCache(1, Duration.ofMinutes(10));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> slow = pool.submit(() -> small.execute("order", "slow", "Fries\n1", () -> {
+                started.countDown();
+                await(release);
+                return write();
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            small.execute("order", "a", "Fries\n2", this::write);
+            small.execute("order", "b", "Fries\n3", this::write);
+            // "a" is completed and the oldest after "slow", so it went; "slow" is kept past the limit
+            assertEquals(2, small.size());
+            assertEquals(3, small.execute("order", "a", "Fries\n2", this::write));
+
+            release.countDown();
+            assertEquals(4, slow.get(5, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void expiredEntriesRunAgain() {
+        IdempotencyCache expiring = new IdempotencyCache(100, Duration.ZERO);
+        expiring.execute("order", "k1", "Fries\n2", this::write);
+        assertEquals(2, expiring.execute("order", "k1", "Fries\n2", this::write));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
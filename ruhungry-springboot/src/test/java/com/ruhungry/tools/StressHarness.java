@@ -0,0 +1,233 @@
+package com.ruhungry.tools;
+
+import com.ruhungry.core.Ingredient;
+import com.ruhungry.core.MenuNode;
+import com.ruhungry.core.RUHungry;
+import com.ruhungry.core.StockNode;
+import com.ruhungry.core.TransactionData;
+import com.ruhungry.core.TransactionNode;
+import com.ruhungry.simulation.DaySimulator;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hammers one restaurant with order, restock, donation and updateStock from many threads
+ * at once, then checks that:
+ * <ul>
+ *   <li>no ingredient was ever seen below zero stock,</li>
+ *   <li>every ingredient's final stock is its starting stock plus the changes the threads
+ *       were told they made (a served order, a made donation or restock, an updateStock),</li>
+ *   <li>the profit of the transactions in the list adds up to profit().</li>
+ * </ul>
+ * Each round starts from a fresh restaurant. Modes say how calls reach it; add a mode here
+ * when the engine gets another way of being called concurrently. StressHarnessTest runs
+ * every mode on each build.
+ */
+public class StressHarness {
+
+    /**
+     * How the threads call the shared restaurant.
+     */
+    public enum Mode {
+        UNSYNCHRONIZED(false),   // straight calls, as RestaurantService makes them today
+        LOCKED(true);            // every call under one lock, the reference a concurrent mode must match
+
+        private final boolean threadSafe;
+
+        Mode(boolean threadSafe) {
+            this.threadSafe = threadSafe;
+        }
+
+        public boolean isThreadSafe() { return threadSafe; }
+    }
+
+    private static final double PROFIT_TOLERANCE = 1e-6;
+
+    private final int threads;
+    private final int opsPerThread;
+    private final long seed;
+
+    /*
+     * Constructor
+     * @param threads the threads calling the restaurant at once
+     * @param opsPerThread the calls each thread makes per round
+     * @param seed seeds the calls each thread makes
+     */
+    public StressHarness(int threads, int opsPerThread, long seed) {
+        if (threads <= 0) throw new IllegalArgumentException("threads must be positive");
+        if (opsPerThread <= 0) throw new IllegalArgumentException("opsPerThread must be positive");
+        this.threads = threads;
+        this.opsPerThread = opsPerThread;
+        this.seed = seed;
+    }
+
+    /**
+     * What one round found.
+     */
+    public static final class Round {
+        private int negativeStock;        // ingredients seen below zero, during the round or at its end
+        private int stockMismatches;      // ingredients whose final stock is not start + changes
+        private double ledgerProfit;      // sum of the transaction list
+        private double reportedProfit;    // profit()
+        private int exceptions;           // calls that threw; their changes are unknown
+
+        public boolean isClean() {
+            return negativeStock == 0 && stockMismatches == 0 && !isProfitMismatch() && exceptions == 0;
+        }
+
+        public boolean isProfitMismatch() {
+            return Math.abs(ledgerProfit - reportedProfit) > PROFIT_TOLERANCE * Math.max(1, Math.abs(ledgerProfit));
+        }
+
+        public int getNegativeStock() { return negativeStock; }
+
+        public int getStockMismatches() { return stockMismatches; }
+
+        public double getLedgerProfit() { return ledgerProfit; }
+
+        public double getReportedProfit() { return reportedProfit; }
+
+        public int getExceptions() { return exceptions; }
+    }
+
+    /**
+     * Runs one round on a restaurant loaded with the given tables file.
+     *
+     * @param mode how the threads call the restaurant
+     * @param round seeds this round's calls together with the harness seed
+     */
+    public Round run(Mode mode, int round, String tablesFile) throws IOException, InterruptedException {
+        RUHungry restaurant = DaySimulator.loadRestaurant(tablesFile);
+
+        List<Ingredient> ingredients = new ArrayList<>();
+        for (StockNode chain : restaurant.getStockVar()) {
+            for (StockNode ptr = chain; ptr != null; ptr = ptr.getNextStockNode()) ingredients.add(ptr.getIngredient());
+        }
+        Map<Integer, Integer> indexOf = new HashMap<>();
+        int[] startStock = new int[ingredients.size()];
+        for (int i = 0; i < ingredients.size(); i++) {
+            indexOf.put(ingredients.get(i).getID(), i);
+            startStock[i] = ingredients.get(i).getStockLevel();
+        }
+        List<String> dishes = new ArrayList<>();
+        for (MenuNode category : restaurant.getMenu()) {
+            for (MenuNode ptr = category; ptr != null; ptr = ptr.getNextMenuNode()) dishes.add(ptr.getDish().getName());
+        }
+        // the menu is only read during the round, so the recipes can be looked up up front
+        Map<String, int[]> recipes = new HashMap<>();
+        for (String dish : dishes) {
+            int[] ids = restaurant.findDish(dish).getDish().getStockID();
+            int[] indexes = new int[ids.length];
+            for (int k = 0; k < ids.length; k++) indexes[k] = indexOf.get(ids[k]);
+            recipes.put(dish.toLowerCase(), indexes);
+        }
+
+        Round result = new Round();
+        long[][] deltas = new long[threads][ingredients.size()];
+        AtomicInteger negativeSeen = new AtomicInteger();
+        AtomicInteger exceptions = new AtomicInteger();
+        Object lock = new Object();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        SplittableRandom seeds = new SplittableRandom(seed * 1_000_003 + round);
+
+        for (int t = 0; t < threads; t++) {
+            long[] delta = deltas[t];
+            SplittableRandom random = seeds.split();
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int n = 0; n < opsPerThread; n++) {
+                    int kind = random.nextInt(100);
+                    int quantity = 1 + random.nextInt(5);
+                    String dish = dishes.get(random.nextInt(dishes.size()));
+                    int ingredient = random.nextInt(ingredients.size());
+                    String name = ingredients.get(ingredient).getName();
+                    try {
+                        if (kind < 50) {
+                            TransactionData served = mode == Mode.LOCKED
+                                ? lockedOrder(restaurant, lock, dish, quantity)
+                                : restaurant.order(dish, quantity);
+                            if (served != null) {
+                                for (int i : recipes.get(served.getItem().toLowerCase())) {
+                                    delta[i] -= quantity;
+                                    if (ingredients.get(i).getStockLevel() < 0) negativeSeen.incrementAndGet();
+                                }
+                            }
+                        } else if (kind < 70) {
+                            boolean made = mode == Mode.LOCKED
+                                ? lockedRestock(restaurant, lock, name, quantity)
+                                : restaurant.restock(name, quantity);
+                            if (made) delta[ingredient] += quantity;
+                        } else if (kind < 85) {
+                            boolean made = mode == Mode.LOCKED
+                                ? lockedDonation(restaurant, lock, name, quantity)
+                                : restaurant.donation(name, quantity);
+                            if (made) {
+                                delta[ingredient] -= quantity;
+                                if (ingredients.get(ingredient).getStockLevel() < 0) negativeSeen.incrementAndGet();
+                            }
+                        } else {
+                            if (mode == Mode.LOCKED) {
+                                synchronized (lock) {
+                                    restaurant.updateStock(name, -1, quantity);
+                                }
+                            } else {
+                                restaurant.updateStock(name, -1, quantity);
+                            }
+                            delta[ingredient] += quantity;
+                        }
+                    } catch (RuntimeException e) {
+                        exceptions.incrementAndGet();
+                    }
+                }
+            }, "stress-" + t);
+            workers[t].start();
+        }
+        start.countDown();
+        for (Thread worker : workers) worker.join();
+
+        for (int i = 0; i < ingredients.size(); i++) {
+            long expected = startStock[i];
+            for (long[] delta : deltas) expected += delta[i];
+            int actual = ingredients.get(i).getStockLevel();
+            if (actual < 0) result.negativeStock++;
+            if (actual != expected) result.stockMismatches++;
+        }
+        result.negativeStock += negativeSeen.get();
+        for (TransactionNode ptr = restaurant.getFrontTransactionNode(); ptr != null; ptr = ptr.getNext()) {
+            result.ledgerProfit += ptr.getData().getProfit();
+        }
+        result.reportedProfit = restaurant.profit();
+        result.exceptions = exceptions.get();
+        return result;
+    }
+
+    private static TransactionData lockedOrder(RUHungry restaurant, Object lock, String dish, int quantity) {
+        synchronized (lock) {
+            return restaurant.order(dish, quantity);
+        }
+    }
+
+    private static boolean lockedRestock(RUHungry restaurant, Object lock, String name, int quantity) {
+        synchronized (lock) {
+            return restaurant.restock(name, quantity);
+        }
+    }
+
+    private static boolean lockedDonation(RUHungry restaurant, Object lock, String name, int quantity) {
+        synchronized (lock) {
+            return restaurant.donation(name, quantity);
+        }
+    }
+}
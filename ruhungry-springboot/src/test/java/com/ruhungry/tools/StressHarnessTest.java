@@ -0,0 +1,64 @@
+package com.ruhungry.tools;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs StressHarness on every build. The sizes can be raised for a longer run:
+ *
+ *   mvn test -Dtest=StressHarnessTest -Dstress.threads=8 -Dstress.ops=20000 -Dstress.rounds=10 -Dstress.seed=1
+ */
+class StressHarnessTest {
+
+    private static final int THREADS = Integer.getInteger("stress.threads",
+        Math.max(4, Runtime.getRuntime().availableProcessors()));
+    private static final int OPS_PER_THREAD = Integer.getInteger("stress.ops", 5_000);
+    private static final int ROUNDS = Integer.getInteger("stress.rounds", 3);
+    private static final long SEED = Long.getLong("stress.seed", 1);
+
+    private final StressHarness harness = new StressHarness(THREADS, OPS_PER_THREAD, SEED);
+
+    @Test
+    void lockedModeKeepsEveryInvariant() throws IOException, InterruptedException {
+        assertTrue(StressHarness.Mode.LOCKED.isThreadSafe());
+        for (int r = 0; r < ROUNDS; r++) {
+            StressHarness.Round round = harness.run(StressHarness.Mode.LOCKED, r, "tables1.in");
+            assertEquals(0, round.getNegativeStock(), "round " + r + ": ingredients below zero");
+            assertEquals(0, round.getStockMismatches(), "round " + r + ": final stock != start + changes");
+            assertEquals(0, round.getExceptions(), "round " + r + ": calls that threw");
+            assertFalse(round.isProfitMismatch(), "round " + r + ": transaction list adds up to "
+                + round.getLedgerProfit() + " but profit() is " + round.getReportedProfit());
+            assertTrue(round.isClean(), "round " + r + " is not clean");
+        }
+    }
+
+    /**
+     * UNSYNCHRONIZED is how RestaurantService calls the engine today, and it is expected to
+     * break the invariants: lost stock updates, a ledger that disagrees with profit(), and
+     * exceptions from the unsynchronized transaction list. The races depend on scheduling, so
+     * this case only reports what it saw and never fails the build. The summary is published
+     * through TestReporter, which IDEs show and Maven keeps off the console.
+     */
+    @Test
+    void unsynchronizedModeIsReportedNotAsserted(TestReporter reporter) throws IOException, InterruptedException {
+        StressHarness.Mode mode = StressHarness.Mode.UNSYNCHRONIZED;
+        int clean = 0, negative = 0, mismatched = 0, profit = 0, threw = 0;
+        for (int r = 0; r < ROUNDS; r++) {
+            StressHarness.Round round = harness.run(mode, r, "tables1.in");
+            if (round.isClean()) clean++;
+            if (round.getNegativeStock() > 0) negative++;
+            if (round.getStockMismatches() > 0) mismatched++;
+            if (round.isProfitMismatch()) profit++;
+            if (round.getExceptions() > 0) threw++;
+        }
+        reporter.publishEntry(mode.name(), String.format("%d threads x %,d calls: %d/%d rounds clean,"
+                + " %d with negative stock, %d with stock != sum, %d with ledger != profit, %d with exceptions",
+            THREADS, OPS_PER_THREAD, clean, ROUNDS, negative, mismatched, profit, threw));
+    }
+}
@@ -0,0 +1,44 @@
+#!/bin/sh
+# Starts RUHungry from the startup profile's layout (mvn -Pstartup clean package) with Spring AOT
+# and an AppCDS archive of the classes a start loads.
+#
+#   ./startup.sh          create the archive if it is missing, then run the app
+#   ./startup.sh train    (re)create the archive and exit
+#
+# Creating the archive is a training run: the app starts with -XX:ArchiveClassesAtExit on
+# TRAINING_PORT, serves one menu request once it is ready, and is stopped, which writes the
+# archive. Rebuilding the jar or lib/ invalidates the archive; run train again after a build.
+set -e
+
+cd "$(dirname "$0")"
+APP_JAR=${APP_JAR:-target/ruhungry-springboot-1.0.0.jar}
+APP_LIB=${APP_LIB:-target/startup/lib}
+CDS_ARCHIVE=${CDS_ARCHIVE:-target/startup/app.jsa}
+TRAINING_PORT=${TRAINING_PORT:-8089}
+
+CLASSPATH="$APP_JAR:$APP_LIB/*"
+MAIN=com.ruhungry.RUHungryApplication
+
+train() {
+    rm -f "$CDS_ARCHIVE"
+    # classes CDS cannot archive (generated accessors, unlinked classes) are skipped quietly
+    java -XX:ArchiveClassesAtExit="$CDS_ARCHIVE" -Xlog:cds=off -Xlog:cds+dynamic=warning \
+        -Dspring.aot.enabled=true -cp "$CLASSPATH" $MAIN --server.port="$TRAINING_PORT" &
+    pid=$!
+    until wget -q -O /dev/null "http://localhost:$TRAINING_PORT/actuator/health/readiness"; do
+        kill -0 $pid 2>/dev/null || { echo "training run exited before it was ready" >&2; exit 1; }
+        sleep 1
+    done
+    wget -q -O /dev/null "http://localhost:$TRAINING_PORT/api/menu"
+    kill $pid
+    wait $pid || true
+    [ -f "$CDS_ARCHIVE" ] || { echo "training run did not write $CDS_ARCHIVE" >&2; exit 1; }
+}
+
+if [ "$1" = train ]; then
+    train
+    exit 0
+fi
+
+[ -f "$CDS_ARCHIVE" ] || train
+exec java -XX:SharedArchiveFile="$CDS_ARCHIVE" -Dspring.aot.enabled=true $JAVA_OPTS -cp "$CLASSPATH" $MAIN "$@"